@@ -0,0 +1,140 @@
+package com.sportevents.api.repository;
+
+import com.sportevents.api.model.EventStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous storage of the status as the enum name in VARCHAR(255) with the SMALLINT
+ * code: the size of a row, printed once the tables are filled, and the time of a status filter that
+ * has to scan the whole table and of reading and decoding the status of every row. The tables live
+ * in a file database, as H2 only reports the space used by tables stored on disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusEncodingBenchmark {
+
+    private static final String TABLE = """
+            CREATE TABLE %s (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL,
+                             sport_type_id BIGINT NOT NULL, start_time TIMESTAMP NOT NULL,
+                             status %s, version BIGINT NOT NULL DEFAULT 0)
+            """;
+    private static final String ROWS = """
+            INSERT INTO %s (name, sport_type_id, start_time, status)
+            SELECT 'Event ' || X, MOD(X, 3) + 1, DATEADD(MINUTE, X, TIMESTAMP '2030-01-01 00:00:00'), %s
+            FROM SYSTEM_RANGE(1, %d)
+            """;
+
+    @Param({"100000", "1000000"})
+    public int datasetSize;
+
+    private Path directory;
+    private ConnectionPool pool;
+    private DatabaseClient databaseClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("status-encoding");
+        ConnectionFactory file = ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "h2")
+                .option(ConnectionFactoryOptions.PROTOCOL, "file")
+                .option(ConnectionFactoryOptions.DATABASE, directory.resolve("events").toAbsolutePath().toString())
+                .build());
+        // Opening the file database dominates otherwise, so every statement reuses one connection
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(file).initialSize(1).maxSize(1).build());
+        databaseClient = DatabaseClient.create(pool);
+
+        // H2 would otherwise answer a repeated COUNT from the previous result
+        execute("SET OPTIMIZE_REUSE_RESULTS 0");
+        execute(TABLE.formatted("events_varchar", "VARCHAR(255)"));
+        execute(TABLE.formatted("events_smallint", "SMALLINT"));
+        execute(ROWS.formatted("events_varchar",
+                "CASE MOD(X, 3) WHEN 0 THEN 'INACTIVE' WHEN 1 THEN 'ACTIVE' ELSE 'FINISHED' END", datasetSize));
+        execute(ROWS.formatted("events_smallint", "MOD(X, 3)", datasetSize));
+        execute("CHECKPOINT SYNC");
+
+        System.out.printf("%nBytes per row: VARCHAR %.1f, SMALLINT %.1f%n",
+                bytesPerRow("EVENTS_VARCHAR"), bytesPerRow("EVENTS_SMALLINT"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.dispose();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Long scanByStatusVarchar() {
+        return databaseClient.sql("SELECT COUNT(*) FROM events_varchar WHERE status = :status")
+                .bind("status", EventStatus.ACTIVE.name())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    @Benchmark
+    public Long scanByStatusSmallint() {
+        return databaseClient.sql("SELECT COUNT(*) FROM events_smallint WHERE status = :status")
+                .bind("status", EventStatus.ACTIVE.code())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    @Benchmark
+    public Long readStatusesVarchar() {
+        return databaseClient.sql("SELECT status FROM events_varchar")
+                .map(row -> EventStatus.valueOf(row.get("status", String.class)))
+                .all()
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long readStatusesSmallint() {
+        return databaseClient.sql("SELECT status FROM events_smallint")
+                .map(row -> EventStatus.fromCode(row.get("status", Short.class)))
+                .all()
+                .count()
+                .block();
+    }
+
+    private double bytesPerRow(String table) {
+        Long bytes = databaseClient.sql("SELECT DISK_SPACE_USED('" + table + "')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        return (double) bytes / datasetSize;
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
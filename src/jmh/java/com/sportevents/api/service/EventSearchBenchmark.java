@@ -0,0 +1,90 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.SearchProperties;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead searches against {@link EventSearchIndex}, filled through change events with names
+ * built from a small vocabulary so that common words match a large share of the events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EventSearchBenchmark {
+
+    private static final String[] COMPETITIONS = {"Champions League", "Premier League", "Stanley Cup", "World Cup",
+            "Davis Cup", "Grand Slam", "Euroleague", "Six Nations", "Super Bowl", "Wimbledon"};
+    private static final String[] STAGES = {"Final", "Semifinal", "Quarterfinal", "Group Stage", "Round of 16",
+            "Qualifier", "Playoff", "Friendly"};
+    private static final int CITIES = 5000;
+    private static final int RESULTS = 20;
+
+    @Param({"1000000"})
+    public int datasetSize;
+
+    private EventSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new EventSearchIndex(null, new SearchProperties(true, Duration.ofMinutes(5)));
+        Random random = new Random(42);
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 18, 0);
+        for (long id = 1; id <= datasetSize; id++) {
+            SportEvent event = new SportEvent();
+            event.setId(id);
+            event.setName("%s %s City%d".formatted(COMPETITIONS[random.nextInt(COMPETITIONS.length)],
+                    STAGES[random.nextInt(STAGES.length)], random.nextInt(CITIES)));
+            event.setSportTypeId(1L + random.nextInt(3));
+            event.setStatus(EventStatus.values()[random.nextInt(3)]);
+            event.setStartTime(startTime);
+            event.setVersion(0L);
+            index.onChange(SportEventChange.created(event));
+        }
+    }
+
+    @Benchmark
+    public List<Long> commonPrefix() {
+        return index.search("f", null, null, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> twoWords() {
+        return index.search("champ fin", null, null, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> twoWordsWithFilters() {
+        return index.search("cup semi", EventStatus.FINISHED, 3L, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> rareWord() {
+        return index.search("city4242 cup", null, null, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> noMatch() {
+        return index.search("wimbledon city4242x", null, null, RESULTS);
+    }
+}
@@ -0,0 +1,198 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.SportEventsApiApplication;
+import com.sportevents.api.config.ReadModelProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures event listing end to end below the web layer: the joined query against H2 and the mapping
+ * of rows to {@link SportEventDto}, and the same listings answered by {@link EventReadModel}. Each
+ * dataset size gets its own in-memory database.
+ * <p>
+ * The {@code readModel} write benchmarks measure how long a change holds the read model's write lock,
+ * which is how long concurrent listings wait. They get a freshly loaded model every iteration, so
+ * creates do not grow it without bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterEventsBenchmark {
+
+    private static final int SPORT_TYPES = 3;
+    private static final int INSERT_CHUNK = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SportEventService service;
+    private EventReadModel readModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SportEventsApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.r2dbc.url=r2dbc:h2:mem:///benchmark-" + datasetSize + ";DB_CLOSE_DELAY=-1",
+                        "sport-events.h2-console.enabled=false",
+                        "sport-events.lifecycle.enabled=false",
+                        // Measures the query and mapping, not the listing cache in front of them
+                        "sport-events.event-cache.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(SportEventService.class);
+        seed(context.getBean(SportEventRepository.class));
+
+        // Loaded after seeding, since seeding bypasses the change events that keep the model current
+        readModel = loadReadModel();
+        System.out.printf("%nRead model: %d events, %d bytes per event%n",
+                readModel.size(), readModel.estimatedBytes() / readModel.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private EventReadModel loadReadModel() {
+        EventReadModel model = new EventReadModel(new ReadModelProperties(true, datasetSize),
+                context.getBean(SportEventRepository.class), context.getBean(SportTypeCache.class),
+                new SimpleMeterRegistry());
+        model.load();
+        return model;
+    }
+
+    @State(Scope.Thread)
+    public static class ReadModelWrites {
+
+        static final int CREATES_PER_ITERATION = 1000;
+
+        private final SplittableRandom random = new SplittableRandom(42);
+        private EventReadModel model;
+        private SportEvent[] events;
+        private long nextId;
+        private long nextVersion;
+
+        @Setup(Level.Iteration)
+        public void setUp(FilterEventsBenchmark benchmark) {
+            model = benchmark.loadReadModel();
+            events = model.filter(null, null).stream()
+                    .map(event -> {
+                        SportEvent copy = new SportEvent();
+                        copy.setId(event.id());
+                        copy.setName(event.name());
+                        copy.setSportTypeId(event.sportType().getId());
+                        copy.setStatus(event.status());
+                        copy.setStartTime(event.startTime());
+                        return copy;
+                    })
+                    .toArray(SportEvent[]::new);
+            nextId = Arrays.stream(events).mapToLong(SportEvent::getId).max().orElse(0) + 1;
+            nextVersion = 1;
+        }
+    }
+
+    /**
+     * Applies {@value ReadModelWrites#CREATES_PER_ITERATION} creates with start times spread over the
+     * whole dataset; the score is the time for all of them.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = ReadModelWrites.CREATES_PER_ITERATION)
+    @Measurement(iterations = 20, batchSize = ReadModelWrites.CREATES_PER_ITERATION)
+    public void readModelCreate(ReadModelWrites writes) {
+        SportEvent template = writes.events[writes.random.nextInt(writes.events.length)];
+        SportEvent event = new SportEvent();
+        event.setId(writes.nextId++);
+        event.setName(template.getName());
+        event.setSportTypeId(template.getSportTypeId());
+        event.setStatus(EventStatus.INACTIVE);
+        event.setStartTime(template.getStartTime().plusSeconds(1));
+        event.setVersion(0L);
+        writes.model.onChange(SportEventChange.created(event));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void readModelStatusChange(ReadModelWrites writes) {
+        SportEvent event = writes.events[writes.random.nextInt(writes.events.length)];
+        EventStatus previousStatus = event.getStatus();
+        event.setStatus(previousStatus == EventStatus.ACTIVE ? EventStatus.FINISHED : EventStatus.ACTIVE);
+        event.setVersion(writes.nextVersion++);
+        writes.model.onChange(SportEventChange.statusChanged(event, previousStatus));
+    }
+
+    @Benchmark
+    public List<SportEventDto> filterAll() {
+        return service.filterEvents(null, null).collectList().block();
+    }
+
+    @Benchmark
+    public List<SportEventDto> filterByStatusAndSportType() {
+        return service.filterEvents(EventStatus.INACTIVE, 1L).collectList().block();
+    }
+
+    @Benchmark
+    public List<SportEventDto> readModelFilterAll() {
+        return readModel.filter(null, null);
+    }
+
+    @Benchmark
+    public List<SportEventDto> readModelFilterByStatusAndSportType() {
+        return readModel.filter(EventStatus.INACTIVE, 1L);
+    }
+
+    @Benchmark
+    public Object firstPage() {
+        return service.findEventsPage(null, null, 50, null).block();
+    }
+
+    private void seed(SportEventRepository repository) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        EventStatus[] statuses = EventStatus.values();
+        Flux.fromStream(LongStream.range(0, datasetSize).boxed())
+                .map(i -> {
+                    SportEvent event = new SportEvent();
+                    event.setName("Event " + i);
+                    event.setSportTypeId(i % SPORT_TYPES + 1);
+                    event.setStatus(statuses[(int) (i % statuses.length)]);
+                    event.setStartTime(start.plusMinutes(i));
+                    return event;
+                })
+                .buffer(INSERT_CHUNK)
+                .concatMap(repository::insertAll)
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,122 @@
+package com.sportevents.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sportevents.api.config.SportEventDtoEncoder;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportType;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of event listings, with an {@link ObjectMapper} configured the way Spring
+ * Boot configures the one used by the web layer. {@code serializeList} goes through
+ * {@link com.sportevents.api.dto.SportEventDtoSerializer}, {@code serializeListDefault} through the
+ * reflective record serialization it replaces. The {@code encodeList} pair compares the response
+ * encoding of a listing into pooled Netty buffers, as the server does it, by
+ * {@link SportEventDtoEncoder} and by Spring's default {@link Jackson2JsonEncoder} with the default
+ * serialization. Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SportEventSerializationBenchmark {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(SportEventDto.class);
+
+    @Param({"10", "100", "1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private ObjectWriter defaultWriter;
+    private Encoder<SportEventDto> encoder;
+    private Encoder<Object> defaultEncoder;
+    private NettyDataBufferFactory bufferFactory;
+    private List<SportEventDto> events;
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(SportEventDto.class, DefaultSerialization.class)
+                .build();
+        writer = objectMapper.writer();
+        defaultWriter = defaultMapper.writer();
+        encoder = new SportEventDtoEncoder(objectMapper);
+        defaultEncoder = new Jackson2JsonEncoder(defaultMapper);
+        bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        SportType football = new SportType();
+        football.setId(1L);
+        football.setName("Football");
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 18, 0);
+        events = LongStream.range(0, listSize)
+                .mapToObj(i -> new SportEventDto(i, "Event " + i, football, EventStatus.ACTIVE, start.plusMinutes(i), 0L))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] serializeListDefault() throws JsonProcessingException {
+        return defaultWriter.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public long encodeList() {
+        return written(encoder.encode(Flux.fromIterable(events), bufferFactory, ELEMENT_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+    }
+
+    @Benchmark
+    public long encodeListDefault() {
+        return written(defaultEncoder.encode(Flux.fromIterable(events), bufferFactory, ELEMENT_TYPE, MediaType.APPLICATION_JSON, Map.of()));
+    }
+
+    private static long written(Flux<DataBuffer> buffers) {
+        return buffers.map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
@@ -0,0 +1,67 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the in-memory status transition rules of
+ * {@link SportEventService#findTransitionRejection}, for an accepted transition and for the
+ * rejected ones, which also pay for building the exception the service returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransitionValidationBenchmark {
+
+    private SportEvent upcoming;
+    private SportEvent finished;
+    private SportEvent started;
+
+    @Setup
+    public void setUp() {
+        upcoming = event(EventStatus.INACTIVE, LocalDateTime.now().plusYears(1));
+        finished = event(EventStatus.FINISHED, LocalDateTime.now().minusDays(1));
+        started = event(EventStatus.INACTIVE, LocalDateTime.now().minusDays(1));
+    }
+
+    @Benchmark
+    public TransitionRejection accepted() {
+        return SportEventService.findTransitionRejection(upcoming, EventStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public RuntimeException rejectedFinished() {
+        return SportEventService.findTransitionRejection(finished, EventStatus.ACTIVE).toException(EventStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public RuntimeException rejectedStartTimeInPast() {
+        return SportEventService.findTransitionRejection(started, EventStatus.ACTIVE).toException(EventStatus.ACTIVE);
+    }
+
+    private static SportEvent event(EventStatus status, LocalDateTime startTime) {
+        SportEvent event = new SportEvent();
+        event.setId(1L);
+        event.setName("Event");
+        event.setSportTypeId(1L);
+        event.setStatus(status);
+        event.setStartTime(startTime);
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sportevents.api.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one line per request to the {@code access-log} logger in {@code key=value} form. Requests
+ * are sampled per endpoint with {@link AccessLogProperties#sampleRateOf(String)}; server errors are
+ * always logged. The decision is made before the line is built, so a request that is not sampled
+ * costs a random number.
+ */
+@Log4j2(topic = "access-log")
+@RequiredArgsConstructor
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter implements WebFilter {
+
+    private final AccessLogProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.enabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> log(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void log(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        String pattern = Optional.ofNullable(exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                .map(value -> value instanceof PathPattern pathPattern ? pathPattern.getPatternString() : value.toString())
+                .orElse(null);
+        int status = Optional.ofNullable(exchange.getResponse().getStatusCode())
+                .map(HttpStatusCode::value)
+                .orElse(signal == SignalType.ON_ERROR ? 500 : 200);
+        double sampleRate = sampleRate(pattern, status);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        log.info("method={} path={} pattern={} status={} duration_ms={} outcome={} remote={} sample_rate={}",
+                request.getMethod(), request.getPath().value(), pattern, status,
+                durationNanos / 1_000 / 1_000.0, outcome(signal),
+                Optional.ofNullable(request.getRemoteAddress()).map(InetSocketAddress::getHostString).orElse(null),
+                sampleRate);
+    }
+
+    double sampleRate(String pattern, int status) {
+        return status >= 500 ? 1.0 : properties.sampleRateOf(pattern);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "completed";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+}
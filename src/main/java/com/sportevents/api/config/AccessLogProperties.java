@@ -0,0 +1,29 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * @param enabled           whether requests are written to the access log
+ * @param defaultSampleRate fraction of requests logged, between 0 and 1
+ * @param sampleRates       per endpoint overrides of {@code defaultSampleRate}, keyed by URI pattern,
+ *                          e.g. {@code /api/events/{id}}
+ */
+@ConfigurationProperties(prefix = "sport-events.access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.0") double defaultSampleRate,
+        Map<String, Double> sampleRates) {
+
+    /**
+     * Returns the sample rate of an endpoint. Requests that matched no endpoint, such as 404s, have
+     * no pattern and use {@code defaultSampleRate}.
+     */
+    public double sampleRateOf(String uriPattern) {
+        return sampleRates != null && uriPattern != null
+                ? sampleRates.getOrDefault(uriPattern, defaultSampleRate)
+                : defaultSampleRate;
+    }
+}
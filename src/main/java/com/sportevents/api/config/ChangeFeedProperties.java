@@ -0,0 +1,17 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize        changes buffered for a subscriber that reads slower than they happen;
+ *                          when the buffer is full the subscriber is told to resync
+ * @param heartbeatInterval how often a comment is sent to keep idle connections open
+ */
+@ConfigurationProperties(prefix = "sport-events.change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("15s") Duration heartbeatInterval) {
+}
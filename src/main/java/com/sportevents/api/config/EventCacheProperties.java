@@ -0,0 +1,19 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled     whether unpaged event listings are served from memory
+ * @param maxEvents   total number of events held across all cached listings
+ * @param timeToLive  how long a listing is served before it is read again, in case the database was
+ *                    changed by something other than this application instance
+ */
+@ConfigurationProperties(prefix = "sport-events.event-cache")
+public record EventCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maxEvents,
+        @DefaultValue("30s") Duration timeToLive) {
+}
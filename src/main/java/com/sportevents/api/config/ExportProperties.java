@@ -0,0 +1,14 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param fetchSize     rows fetched from the database cursor per round trip
+ * @param rowsPerBuffer rows encoded into one buffer before it is written to the response
+ */
+@ConfigurationProperties(prefix = "sport-events.export")
+public record ExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("500") int rowsPerBuffer) {
+}
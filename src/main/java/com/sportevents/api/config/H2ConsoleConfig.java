@@ -1,23 +1,23 @@
 package com.sportevents.api.config;
 
+import org.h2.tools.Server;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-@Configuration
-@ConditionalOnProperty(name = "spring.h2.console.enabled", havingValue = "true")
-public class H2ConsoleConfig implements WebMvcConfigurer {
+import java.sql.SQLException;
 
-    @Override
-    public void addViewControllers(ViewControllerRegistry registry) {
-        registry.addViewController("/h2-console").setViewName("forward:/h2-console/index.html");
-    }
+/**
+ * Spring Boot only serves the H2 console from a servlet container, so on WebFlux the console is
+ * started as H2's own web server on a separate port.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sport-events.h2-console.enabled", havingValue = "true")
+public class H2ConsoleConfig {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/h2-console/**")
-                .addResourceLocations("classpath:/META-INF/resources/");
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public Server h2ConsoleServer(@Value("${sport-events.h2-console.port:8082}") int port) throws SQLException {
+        return Server.createWebServer("-webPort", String.valueOf(port));
     }
 }
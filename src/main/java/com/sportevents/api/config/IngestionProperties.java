@@ -0,0 +1,11 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize number of events validated together and written with one multi-row INSERT
+ */
+@ConfigurationProperties(prefix = "sport-events.ingestion")
+public record IngestionProperties(@DefaultValue("100") int batchSize) {
+}
@@ -0,0 +1,23 @@
+package com.sportevents.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Registers {@link SportEventDtoEncoder} ahead of the default Jackson encoder, using the
+ * application's {@link ObjectMapper}. Server-Sent Events keep the default encoder.
+ */
+@RequiredArgsConstructor
+@Configuration
+public class JsonCodecConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new SportEventDtoEncoder(objectMapper));
+    }
+}
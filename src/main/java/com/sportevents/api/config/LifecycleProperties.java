@@ -0,0 +1,27 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param enabled         whether events are activated and finished automatically
+ * @param tickInterval    how often due transitions are applied
+ * @param defaultDuration how long an event stays ACTIVE after its start time
+ * @param durations       per sport type ID overrides of {@code defaultDuration}
+ * @param batchSize       maximum number of events moved by one UPDATE
+ */
+@ConfigurationProperties(prefix = "sport-events.lifecycle")
+public record LifecycleProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1s") Duration tickInterval,
+        @DefaultValue("2h") Duration defaultDuration,
+        Map<Long, Duration> durations,
+        @DefaultValue("500") int batchSize) {
+
+    public Duration durationOf(Long sportTypeId) {
+        return durations != null ? durations.getOrDefault(sportTypeId, defaultDuration) : defaultDuration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param sportTypes  how unpaged event listings resolve the sport type of each event
+ * @param batchSize   with {@link SportTypeResolution#BATCH}, the most events whose sport types are
+ *                    resolved by one query
+ * @param batchWindow with {@link SportTypeResolution#BATCH}, how long to wait for a batch to fill
+ *                    before resolving what has arrived
+ * @param etags       whether the event and sport type listings carry an ETag and answer matching
+ *                    {@code If-None-Match} requests with {@code 304 Not Modified}. The tags are
+ *                    counted per instance, so this is only correct for a single instance.
+ */
+@ConfigurationProperties(prefix = "sport-events.listing")
+public record ListingProperties(
+        @DefaultValue("JOIN") SportTypeResolution sportTypes,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("10ms") Duration batchWindow,
+        @DefaultValue("false") boolean etags) {
+
+    public enum SportTypeResolution {
+        /**
+         * Events are read joined with their sport type.
+         */
+        JOIN,
+        /**
+         * Events are read alone and their sport types are loaded per batch of events.
+         */
+        BATCH
+    }
+}
@@ -0,0 +1,10 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "sport-events.paging")
+public record PagingProperties(
+        @DefaultValue("50") int defaultLimit,
+        @DefaultValue("500") int maxLimit) {
+}
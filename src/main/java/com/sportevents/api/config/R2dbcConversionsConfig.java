@@ -0,0 +1,48 @@
+package com.sportevents.api.config;
+
+import com.sportevents.api.model.EventStatus;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+
+import java.util.List;
+
+/**
+ * Stores {@link EventStatus} as its {@link EventStatus#code() code} in a SMALLINT column instead of
+ * Spring Data's default of the enum name, for entity mapping and for the parameters of derived
+ * queries alike.
+ */
+@Configuration
+public class R2dbcConversionsConfig {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(EventStatusWritingConverter.INSTANCE, EventStatusReadingConverter.INSTANCE));
+    }
+
+    @WritingConverter
+    enum EventStatusWritingConverter implements Converter<EventStatus, Short> {
+        INSTANCE;
+
+        @Override
+        public Short convert(EventStatus status) {
+            return status.code();
+        }
+    }
+
+    @ReadingConverter
+    enum EventStatusReadingConverter implements Converter<Short, EventStatus> {
+        INSTANCE;
+
+        @Override
+        public EventStatus convert(Short code) {
+            return EventStatus.fromCode(code);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled         whether all events are kept in memory and event reads are answered from
+ *                        there instead of the database
+ * @param initialCapacity number of events the read model allocates room for before it first grows
+ */
+@ConfigurationProperties(prefix = "sport-events.read-model")
+public record ReadModelProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1024") int initialCapacity) {
+}
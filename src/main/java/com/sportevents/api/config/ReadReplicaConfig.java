@@ -0,0 +1,84 @@
+package com.sportevents.api.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replaces the auto-configured connection factory with a {@link ReadWriteRoutingConnectionFactory}
+ * over it and a connection factory for the replica. The replica gets the same decorators as the
+ * primary, so its statements also appear in the slow query log. Credentials not set for the replica
+ * are taken from {@code spring.r2dbc.*}.
+ * <p>
+ * Spring destroys the primary as the bean it created, not as the routing factory that replaced it,
+ * so the replica's connections are released when the primary's bean is destroyed.
+ */
+@Log4j2
+@Configuration
+@ConditionalOnProperty(name = "sport-events.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static DestructionAwareBeanPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                                                                  ObjectProvider<R2dbcProperties> primaryProperties,
+                                                                                  ObjectProvider<ConnectionFactoryDecorator> decorators) {
+        return new DestructionAwareBeanPostProcessor() {
+
+            private final Map<String, ReadWriteRoutingConnectionFactory> routingFactories = new ConcurrentHashMap<>();
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ConnectionFactory primary) || bean instanceof ReadWriteRoutingConnectionFactory) {
+                    return bean;
+                }
+                ReplicaProperties replica = properties.getObject();
+                if (!StringUtils.hasText(replica.url())) {
+                    throw new IllegalStateException(
+                            "sport-events.replica.url must be set when sport-events.replica.enabled is true");
+                }
+                R2dbcProperties primaryConfig = primaryProperties.getObject();
+                ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(replica.url());
+                String username = replica.username() != null ? replica.username() : primaryConfig.getUsername();
+                if (username != null) {
+                    builder = builder.username(username);
+                }
+                String password = replica.password() != null ? replica.password() : primaryConfig.getPassword();
+                if (password != null) {
+                    builder = builder.password(password);
+                }
+                ConnectionFactory replicaFactory = builder.build();
+                for (ConnectionFactoryDecorator decorator : decorators.orderedStream().toList()) {
+                    replicaFactory = decorator.decorate(replicaFactory);
+                }
+                log.info("Routing read-only queries to replica {}", replica.url());
+                ReadWriteRoutingConnectionFactory routing = new ReadWriteRoutingConnectionFactory(primary, replicaFactory);
+                routingFactories.put(beanName, routing);
+                return routing;
+            }
+
+            @Override
+            public boolean requiresDestruction(Object bean) {
+                return bean instanceof ConnectionFactory;
+            }
+
+            @Override
+            public void postProcessBeforeDestruction(Object bean, String beanName) {
+                ReadWriteRoutingConnectionFactory routing = routingFactories.remove(beanName);
+                if (routing != null) {
+                    routing.dispose();
+                }
+            }
+        };
+    }
+}
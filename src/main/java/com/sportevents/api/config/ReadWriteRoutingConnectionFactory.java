@@ -0,0 +1,75 @@
+package com.sportevents.api.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out connections to the replica for queries that run with {@link #onReplica(Mono)} or
+ * {@link #onReplica(Flux)} in their subscriber context, and to the primary for everything else.
+ * <p>
+ * The primary stays owned by whoever created it, while the replica is owned by this factory and
+ * released by {@link #dispose()}.
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    private static final String REPLICA_KEY = ReadWriteRoutingConnectionFactory.class.getName() + ".replica";
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ConnectionFactory replica;
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica) {
+        this.replica = replica;
+        setTargetConnectionFactories(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    public static <T> Mono<T> onReplica(Mono<T> query) {
+        return query.contextWrite(context -> context.put(REPLICA_KEY, true));
+    }
+
+    public static <T> Flux<T> onReplica(Flux<T> query) {
+        return query.contextWrite(context -> context.put(REPLICA_KEY, true));
+    }
+
+    /**
+     * Disposes the replica, looking through decorators such as the slow query log proxy for a pool
+     * to dispose. Calls after the first do nothing.
+     */
+    @Override
+    public void dispose() {
+        if (!disposed.compareAndSet(false, true)) {
+            return;
+        }
+        Object target = replica;
+        while (!(target instanceof Disposable) && target instanceof Wrapped<?> wrapped) {
+            target = wrapped.unwrap();
+        }
+        if (target instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed.get();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.just(
+                context.getOrDefault(REPLICA_KEY, false) ? Target.REPLICA : Target.PRIMARY));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled              whether read-only queries are sent to the replica
+ * @param url                  R2DBC URL of the replica; use the {@code r2dbc:pool:} form to pool
+ *                             its connections
+ * @param username             user of the replica; defaults to {@code spring.r2dbc.username}
+ * @param password             password of the replica; defaults to {@code spring.r2dbc.password}
+ * @param readYourWritesWindow how long after a write reads that could observe it still go to the
+ *                             primary, to hide replication lag; zero sends them to the replica
+ *                             right away
+ */
+@ConfigurationProperties(prefix = "sport-events.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("2s") Duration readYourWritesWindow) {
+}
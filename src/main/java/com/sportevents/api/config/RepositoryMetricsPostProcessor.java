@@ -0,0 +1,91 @@
+package com.sportevents.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every reactive repository method from subscription until the result completes, fails or is
+ * cancelled, which is when the query actually runs. Spring Data's own repository metrics only time
+ * the method call, which returns before a reactive query has even started.
+ * <p>
+ * Timers are looked up once per method and outcome and cached, so a timed call costs a
+ * {@link System#nanoTime()} pair and a histogram update.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    public static final String METRIC_NAME = "repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Map<SignalType, Timer>> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+        String repositoryName = Arrays.stream(ClassUtils.getAllInterfaces(bean))
+                .filter(type -> type != Repository.class && Repository.class.isAssignableFrom(type))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(beanName);
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            Method method = invocation.getMethod();
+            if (result instanceof Mono<?> mono) {
+                return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return mono.doFinally(signal -> record(repositoryName, method, signal, start));
+                });
+            }
+            if (result instanceof Flux<?> flux) {
+                return Flux.defer(() -> {
+                    long start = System.nanoTime();
+                    return flux.doFinally(signal -> record(repositoryName, method, signal, start));
+                });
+            }
+            return result;
+        });
+        return proxyFactory.getProxy();
+    }
+
+    private void record(String repositoryName, Method method, SignalType signal, long start) {
+        timers.computeIfAbsent(method, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(signal, ignored -> Timer.builder(METRIC_NAME)
+                        .description("Time from subscription to termination of repository queries")
+                        .tag("repository", repositoryName)
+                        .tag("method", method.getName())
+                        .tag("outcome", outcome(signal))
+                        .register(meterRegistry.getObject()))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+}
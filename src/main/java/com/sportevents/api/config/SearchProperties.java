@@ -0,0 +1,18 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled        whether event names are indexed in memory; searches query the database
+ *                       otherwise, and while the index is being built
+ * @param resyncInterval how often the index is rebuilt from the database, which picks up writes
+ *                       made by other instances
+ */
+@ConfigurationProperties(prefix = "sport-events.search")
+public record SearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5m") Duration resyncInterval) {
+}
@@ -0,0 +1,131 @@
+package com.sportevents.api.config;
+
+import io.r2dbc.proxy.core.Binding;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements that take longer than {@link SlowQueryProperties#threshold()} together with their
+ * bind values, the number of rows read and, if enabled, the H2 query plan. Fast statements only
+ * cost the duration check.
+ * <p>
+ * The plan is read with {@code EXPLAIN} on a connection of the undecorated factory, after the slow
+ * statement has finished, and at most once per {@link SlowQueryProperties#explainInterval()} for
+ * the same SQL, so a burst of slow queries does not double the load on the database.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class SlowQueryListener implements ProxyExecutionListener {
+
+    private final ConnectionFactory connectionFactory;
+    private final SlowQueryProperties properties;
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        if (execInfo.getExecuteDuration().compareTo(properties.threshold()) < 0) {
+            return;
+        }
+        String sql = execInfo.getQueries().stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        String bindings = execInfo.getQueries().stream()
+                .flatMap(query -> query.getBindingsList().stream())
+                .map(binding -> formatBindings(binding.getIndexBindings()) + formatBindings(binding.getNamedBindings()))
+                .collect(Collectors.joining(", ", "[", "]"));
+        String summary = "Slow query took %d ms, %d rows%s: %s, bindings %s".formatted(
+                execInfo.getExecuteDuration().toMillis(), execInfo.getCurrentResultCount(),
+                execInfo.isSuccess() ? "" : " (failed)", sql, bindings);
+
+        if (!properties.explain() || execInfo.getQueries().size() != 1 || !shouldExplain(sql)) {
+            log.warn("{}", summary);
+            return;
+        }
+        QueryInfo query = execInfo.getQueries().get(0);
+        explain(query)
+                .doOnNext(plan -> log.warn("{}{}plan:{}{}", summary, System.lineSeparator(), System.lineSeparator(), plan))
+                .onErrorResume(ex -> {
+                    log.warn("{} (plan unavailable: {})", summary, ex.getMessage());
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
+    private boolean shouldExplain(String sql) {
+        long now = System.nanoTime();
+        long interval = properties.explainInterval().toNanos();
+        Long previous = lastExplained.get(sql);
+        if (previous != null && now - previous < interval) {
+            return false;
+        }
+        return previous == null
+                ? lastExplained.putIfAbsent(sql, now) == null
+                : lastExplained.replace(sql, previous, now);
+    }
+
+    private Mono<String> explain(QueryInfo query) {
+        return Mono.usingWhen(connectionFactory.create(),
+                connection -> Flux.from(explainStatement(connection, query).execute())
+                        .flatMap(result -> result.map((row, metadata) -> String.valueOf(row.get(0))))
+                        .collect(Collectors.joining(System.lineSeparator())),
+                Connection::close);
+    }
+
+    private static Statement explainStatement(Connection connection, QueryInfo query) {
+        Statement statement = connection.createStatement("EXPLAIN " + query.getQuery());
+        query.getBindingsList().stream().findFirst().ifPresent(bindings -> {
+            bindings.getIndexBindings().forEach(binding -> bind(statement, binding));
+            bindings.getNamedBindings().forEach(binding -> bind(statement, binding));
+        });
+        return statement;
+    }
+
+    private static void bind(Statement statement, Binding binding) {
+        BoundValue value = binding.getBoundValue();
+        if (binding.getKey() instanceof Integer index) {
+            if (value.isNull()) {
+                statement.bindNull(index, value.getNullType());
+            } else {
+                statement.bind(index, value.getValue());
+            }
+        } else {
+            String name = String.valueOf(binding.getKey());
+            if (value.isNull()) {
+                statement.bindNull(name, value.getNullType());
+            } else {
+                statement.bind(name, value.getValue());
+            }
+        }
+    }
+
+    private static String formatBindings(Iterable<Binding> bindings) {
+        StringBuilder formatted = new StringBuilder();
+        for (Binding binding : bindings) {
+            if (!formatted.isEmpty()) {
+                formatted.append(", ");
+            }
+            formatted.append(binding.getKey()).append('=').append(valueOf(binding.getBoundValue()));
+        }
+        return formatted.toString();
+    }
+
+    private static Object valueOf(BoundValue value) {
+        if (value.isNull()) {
+            return null;
+        }
+        // Spring binds most values wrapped in an R2DBC Parameter that carries the type
+        return value.getValue() instanceof Parameter parameter ? parameter.getValue() : value.getValue();
+    }
+}
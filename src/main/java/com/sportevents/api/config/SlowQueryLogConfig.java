@@ -0,0 +1,23 @@
+package com.sportevents.api.config;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the connection factory in an R2DBC proxy that reports slow statements, see
+ * {@link SlowQueryListener}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sport-events.slow-query.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+    @Bean
+    public ConnectionFactoryDecorator slowQueryLogDecorator(SlowQueryProperties properties) {
+        return connectionFactory -> ProxyConnectionFactory.builder(connectionFactory)
+                .listener(new SlowQueryListener(connectionFactory, properties))
+                .build();
+    }
+}
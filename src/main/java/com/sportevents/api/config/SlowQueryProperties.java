@@ -0,0 +1,20 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled         whether statements are timed and slow ones logged
+ * @param threshold       statements taking at least this long are logged
+ * @param explain         whether the query plan of a slow statement is logged with it
+ * @param explainInterval minimum time between two query plans for the same SQL
+ */
+@ConfigurationProperties(prefix = "sport-events.slow-query")
+public record SlowQueryProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration threshold,
+        @DefaultValue("true") boolean explain,
+        @DefaultValue("1m") Duration explainInterval) {
+}
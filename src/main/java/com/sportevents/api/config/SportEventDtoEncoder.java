@@ -0,0 +1,153 @@
+package com.sportevents.api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sportevents.api.dto.SportEventDto;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link SportEventDto}s as JSON or NDJSON directly into the response buffers. Jackson's
+ * default encoder serializes every element of a listing into an intermediate byte array and copies
+ * it into a buffer; here one generator per response writes each event straight into the buffer
+ * that is sent. Like the default encoder, a listing produces one buffer per event, the opening
+ * bracket of a JSON array waits for the first event so that an early error still gets an error
+ * response, and NDJSON is flushed per event.
+ */
+@RequiredArgsConstructor
+public class SportEventDtoEncoder implements HttpMessageEncoder<SportEventDto> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON);
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return SportEventDto.class.isAssignableFrom(elementType.toClass())
+                && (mimeType == null || (MIME_TYPES.stream().anyMatch(type -> type.isCompatibleWith(mimeType))
+                && (mimeType.getCharset() == null || StandardCharsets.UTF_8.equals(mimeType.getCharset()))));
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return STREAMING_MEDIA_TYPES;
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends SportEventDto> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<? extends SportEventDto> single) {
+            return single.map(event -> encodeValue(event, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        boolean lines = mimeType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(mimeType);
+        return Flux.<DataBuffer, EventWriter>using(
+                        () -> new EventWriter(objectMapper),
+                        writer -> {
+                            Flux<DataBuffer> events = Flux.from(inputStream)
+                                    .map(event -> writer.write(event, bufferFactory, lines));
+                            return lines ? events : events.concatWith(Mono.fromSupplier(() -> writer.endArray(bufferFactory)));
+                        },
+                        EventWriter::close)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    @Override
+    public DataBuffer encodeValue(SportEventDto value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer.asOutputStream())) {
+            objectMapper.writeValue(generator, value);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Failed to encode event " + value.id(), e);
+        }
+    }
+
+    /**
+     * The generator of one response, writing into whichever buffer is being filled.
+     */
+    private static final class EventWriter extends OutputStream {
+
+        private final JsonGenerator generator;
+        private final SequenceWriter sequenceWriter;
+        private DataBuffer target;
+        private boolean started;
+
+        EventWriter(ObjectMapper objectMapper) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(this);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            sequenceWriter = objectMapper.writerFor(SportEventDto.class).writeValues(generator);
+        }
+
+        DataBuffer write(SportEventDto event, DataBufferFactory bufferFactory, boolean lines) {
+            target = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+            try {
+                if (!lines) {
+                    target.write((byte) (started ? ',' : '['));
+                }
+                started = true;
+                sequenceWriter.write(event);
+                generator.flush();
+                if (lines) {
+                    target.write((byte) '\n');
+                }
+                return target;
+            } catch (IOException | RuntimeException e) {
+                DataBufferUtils.release(target);
+                throw new EncodingException("Failed to encode event " + event.id(), e);
+            } finally {
+                target = null;
+            }
+        }
+
+        DataBuffer endArray(DataBufferFactory bufferFactory) {
+            byte[] end = started ? new byte[]{']'} : new byte[]{'[', ']'};
+            return bufferFactory.allocateBuffer(end.length).write(end);
+        }
+
+        @Override
+        public void write(int b) {
+            target.write((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                // Nothing is buffered once the last event is flushed, so there is nothing to lose
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.sportevents.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param resyncInterval how often the counters are recounted from the database, which picks up
+ *                       writes made by other instances
+ */
+@ConfigurationProperties(prefix = "sport-events.stats")
+public record StatsProperties(
+        @DefaultValue("5m") Duration resyncInterval) {
+}
@@ -1,19 +1,37 @@
 package com.sportevents.api.controller;
 
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.BulkStatusUpdateResult;
+import com.sportevents.api.dto.EventBatchItemResult;
+import com.sportevents.api.dto.EventStats;
 import com.sportevents.api.dto.SportEventDto;
 import com.sportevents.api.model.EventStatus;
 import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.service.CollectionVersions;
+import com.sportevents.api.service.EventStatistics;
+import com.sportevents.api.service.SportEventChangeFeed;
+import com.sportevents.api.service.SportEventExporter;
+import com.sportevents.api.service.SportEventIngestionService;
 import com.sportevents.api.service.SportEventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Log4j2
 @RequiredArgsConstructor
 @Validated
@@ -21,38 +39,151 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/api/events")
 public class SportEventController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final SportEventService service;
+    private final SportEventIngestionService ingestionService;
+    private final SportEventChangeFeed changeFeed;
+    private final CollectionVersions collectionVersions;
+    private final SportEventExporter exporter;
+    private final EventStatistics statistics;
 
     @PostMapping
     public Mono<ResponseEntity<SportEvent>> createEvent(@Valid @RequestBody SportEvent event) {
-        log.info("Received request to create event: {}", event);
+        log.debug("Received request to create event: {}", event);
         return service.createEvent(event)
-                .doOnSuccess(savedEvent -> log.info("Successfully created event with ID: {}", savedEvent.getId()))
+                .doOnSuccess(savedEvent -> log.debug("Successfully created event with ID: {}", savedEvent.getId()))
                 .map(savedEvent -> ResponseEntity.status(HttpStatus.CREATED).body(savedEvent));
     }
 
-    @GetMapping
-    public Flux<SportEventDto> getAllEvents(
+    /**
+     * Creates many events from a JSON array or an NDJSON stream. Each event gets its own result, so
+     * invalid events are reported without failing the rest of the batch.
+     */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EventBatchItemResult> createEvents(@RequestBody Flux<SportEvent> events) {
+        log.debug("Received request to create events in batch");
+        return ingestionService.createEvents(events);
+    }
+
+    /**
+     * Lists events. When {@code limit} or {@code after} is given the listing is paged and the cursor
+     * for the next page is returned in the {@value #NEXT_CURSOR_HEADER} header. NDJSON and SSE
+     * clients receive events as they are read from the database rather than as one JSON array.
+     * With {@code sport-events.listing.etags}, responses carry an ETag that changes with every event
+     * write; a request whose {@code If-None-Match} still matches gets {@code 304 Not Modified}
+     * without a query.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Mono<ResponseEntity<Flux<SportEventDto>>> getAllEvents(
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) Long sportTypeId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            ServerWebExchange exchange) {
+        log.debug("Fetching events with status={}, sportTypeId={}, limit={} and after={}", status, sportTypeId, limit, after);
+        String eTag = collectionVersions.eventsTag();
+        if (eTag != null && exchange.checkNotModified(eTag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build());
+        }
+        if (limit == null && after == null) {
+            return Mono.just(ResponseEntity.ok().eTag(eTag).body(service.filterEvents(status, sportTypeId)));
+        }
+        return service.findEventsPage(status, sportTypeId, limit, after)
+                .map(page -> ResponseEntity.ok()
+                        .eTag(eTag)
+                        .headers(headers -> Optional.ofNullable(page.nextCursor())
+                                .ifPresent(cursor -> headers.set(NEXT_CURSOR_HEADER, cursor)))
+                        .body(Flux.fromIterable(page.events())));
+    }
+
+    /**
+     * Streams creates and status changes as Server-Sent Events, optionally only those of events that
+     * are in {@code status} or of {@code sportTypeId} after the change. A client that falls behind
+     * receives a {@code resync} event and the stream ends.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamChanges(
             @RequestParam(required = false) EventStatus status,
             @RequestParam(required = false) Long sportTypeId) {
-        log.info("Fetching events with status={} and sportTypeId={}", status, sportTypeId);
-        return service.filterEvents(status, sportTypeId);
+        log.debug("Subscribing to event changes with status={} and sportTypeId={}", status, sportTypeId);
+        return changeFeed.changes(status, sportTypeId);
+    }
+
+    /**
+     * Streams all events starting within {@code [startTimeFrom, startTimeTo)} as a CSV or NDJSON
+     * attachment for bulk consumers. Unlike the listing, the response is written while the events
+     * are read, so its size is not bounded by memory. Clients sending {@code Accept-Encoding: gzip}
+     * receive it compressed.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportEvents(
+            @RequestParam(defaultValue = "CSV") SportEventExporter.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeTo,
+            ServerWebExchange exchange) {
+        log.debug("Exporting events as {} with startTimeFrom={} and startTimeTo={}", format, startTimeFrom, startTimeTo);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .headers(headers -> headers.setContentDisposition(ContentDisposition.attachment()
+                        .filename("sport-events." + format.getFileExtension())
+                        .build()))
+                .body(exporter.export(format, startTimeFrom, startTimeTo, exchange.getResponse().bufferFactory()));
     }
 
+    /**
+     * Typeahead search over event names: every word of {@code q} must start a word of the name, so
+     * {@code q=champ lea} finds "Champions League Final". {@code status} and {@code sportTypeId}
+     * narrow the results as in the listing.
+     */
+    @GetMapping("/search")
+    public Flux<SportEventDto> searchEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) Long sportTypeId,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Searching events for '{}' with status={}, sportTypeId={} and limit={}", q, status, sportTypeId, limit);
+        return service.searchEvents(q, status, sportTypeId, limit);
+    }
+
+    /**
+     * Returns the number of events per status and sport type, from counters kept in memory.
+     */
+    @GetMapping("/stats")
+    public Mono<EventStats> getEventStats() {
+        log.debug("Fetching event statistics");
+        return statistics.stats();
+    }
+
+    /**
+     * Returns the event with its row version as the ETag. A request whose {@code If-None-Match}
+     * matches gets {@code 304 Not Modified} and the event is not serialized.
+     */
     @GetMapping("/{id}")
     public Mono<ResponseEntity<SportEventDto>> getEventById(@PathVariable Long id) {
-        log.info("Fetching event with ID: {}", id);
+        log.debug("Fetching event with ID: {}", id);
         return service.getEventById(id)
-                .map(ResponseEntity::ok)
+                .map(event -> ResponseEntity.ok().eTag(String.valueOf(event.version())).body(event))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("/status")
+    public Mono<ResponseEntity<BulkStatusUpdateResult>> updateEventStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        log.debug("Updating status of matching events to {}", request.newStatus());
+        return service.updateEventStatuses(request)
+                .map(ResponseEntity::ok);
+    }
+
     @PatchMapping("/{id}/status")
     public Mono<ResponseEntity<SportEvent>> updateEventStatus(
             @PathVariable Long id,
-            @RequestParam EventStatus newStatus) {
-        log.info("Updating event status for ID: {} to {}", id, newStatus);
-        return service.updateEventStatus(id, newStatus)
+            @RequestParam EventStatus newStatus,
+            @RequestParam(required = false) EventStatus expectedStatus) {
+        log.debug("Updating event status for ID: {} to {}", id, newStatus);
+        return service.updateEventStatus(id, newStatus, expectedStatus)
                 .map(ResponseEntity::ok);
     }
 }
@@ -2,6 +2,9 @@ package com.sportevents.api.controller;
 
 import com.sportevents.api.model.SportType;
 import com.sportevents.api.repository.SportTypeRepository;
+import com.sportevents.api.service.CollectionVersions;
+import com.sportevents.api.service.ReplicaReads;
+import com.sportevents.api.service.SportTypeCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -18,28 +21,41 @@ import reactor.core.publisher.Mono;
 public class SportTypeController {
 
     private final SportTypeRepository repository;
+    private final SportTypeCache sportTypeCache;
+    private final CollectionVersions collectionVersions;
+    private final ReplicaReads replicaReads;
 
     @PostMapping
     public Mono<ResponseEntity<SportType>> createSportType(@Valid @RequestBody SportType sportType) {
-        log.info("Received request to create sport type: {}", sportType);
+        log.debug("Received request to create sport type: {}", sportType);
         return repository.save(sportType)
+                .doOnNext(sportTypeCache::put)
+                .doOnNext(savedType -> {
+                    collectionVersions.sportTypeCreated();
+                    replicaReads.sportTypeCreated();
+                })
                 .map(savedType -> ResponseEntity.status(HttpStatus.CREATED).body(savedType));
     }
 
+    /**
+     * Lists sport types. With {@code sport-events.listing.etags} the listing carries an ETag that
+     * changes whenever a sport type is created. When {@code If-None-Match} matches, the listing is
+     * answered with {@code 304 Not Modified} before the query is subscribed to.
+     */
     @GetMapping
-    public Flux<SportType> getAllSportTypes() {
-        log.info("Fetching all sport types");
-        return repository.findAll()
-                .doOnComplete(() -> log.info("Fetched all sport types successfully"))
-                .doOnError(ex -> log.error("Failed to fetch sport types", ex));
+    public Mono<ResponseEntity<Flux<SportType>>> getAllSportTypes() {
+        log.debug("Fetching all sport types");
+        String eTag = collectionVersions.sportTypesTag();
+        return Mono.just(ResponseEntity.ok().eTag(eTag).body(replicaReads.sportTypes(repository.findAll())
+                .doOnComplete(() -> log.debug("Fetched all sport types successfully"))
+                .doOnError(ex -> log.error("Failed to fetch sport types", ex))));
     }
 
-
     @GetMapping("/{id}")
     public Mono<ResponseEntity<SportType>> getSportTypeById(@PathVariable Long id) {
-        log.info("Fetching sport type with ID: {}", id);
-        return repository.findById(id)
-                .map(ResponseEntity::ok)
+        log.debug("Fetching sport type with ID: {}", id);
+        return replicaReads.sportType(repository.findById(id))
+                .map(sportType -> ResponseEntity.ok().eTag(String.valueOf(sportType.getVersion())).body(sportType))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 }
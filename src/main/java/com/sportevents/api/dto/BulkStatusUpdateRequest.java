@@ -0,0 +1,25 @@
+package com.sportevents.api.dto;
+
+import com.sportevents.api.model.EventStatus;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves every event matching all the given criteria to {@code newStatus}. The start time window
+ * includes {@code startTimeFrom} and excludes {@code startTimeTo}.
+ */
+public record BulkStatusUpdateRequest(
+        List<Long> ids,
+        Long sportTypeId,
+        LocalDateTime startTimeFrom,
+        LocalDateTime startTimeTo,
+        @NotNull(message = "NewStatus must not be null") EventStatus newStatus) {
+
+    @AssertTrue(message = "At least one of ids, sportTypeId, startTimeFrom or startTimeTo must be given")
+    public boolean isSelective() {
+        return (ids != null && !ids.isEmpty()) || sportTypeId != null || startTimeFrom != null || startTimeTo != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sportevents.api.dto;
+
+import com.sportevents.api.model.EventStatus;
+
+import java.util.List;
+
+public record BulkStatusUpdateResult(EventStatus newStatus, List<Long> updated, List<Rejection> rejected) {
+
+    public record Rejection(Long id, String reason) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.sportevents.api.dto;
+
+/**
+ * Outcome of one event in a batch create request. {@code index} is the position of the event in
+ * the request body.
+ */
+public record EventBatchItemResult(long index, Status status, Long id, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static EventBatchItemResult created(long index, Long id) {
+        return new EventBatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static EventBatchItemResult rejected(long index, String error) {
+        return new EventBatchItemResult(index, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sportevents.api.dto;
+
+import com.sportevents.api.model.EventStatus;
+
+/**
+ * Number of events of one sport type in one status.
+ */
+public record EventCount(Long sportTypeId, EventStatus status, long count) {
+}
@@ -0,0 +1,36 @@
+package com.sportevents.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the {@code (start_time, id)} ordering of event listings. Clients only see it as an
+ * opaque token, so the encoding can change without breaking them.
+ */
+public record EventCursor(LocalDateTime startTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor after(SportEventDto event) {
+        return new EventCursor(event.startTime(), event.id());
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new EventCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,12 @@
+package com.sportevents.api.dto;
+
+import com.sportevents.api.model.EventStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record EventStats(long total, Map<EventStatus, Long> byStatus, List<SportTypeStats> bySportType) {
+
+    public record SportTypeStats(Long sportTypeId, long total, Map<EventStatus, Long> byStatus) {
+    }
+}
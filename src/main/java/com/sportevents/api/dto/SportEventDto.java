@@ -1,16 +1,21 @@
 package com.sportevents.api.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.sportevents.api.model.EventStatus;
 import com.sportevents.api.model.SportType;
-import lombok.Data;
 
 import java.time.LocalDateTime;
 
-@Data
-public class SportEventDto {
-    private Long id;
-    private String name;
-    private SportType sportType;
-    private EventStatus status;
-    private LocalDateTime startTime;
+/**
+ * An event with its sport type embedded, as event listings and lookups return it. Written to JSON by
+ * {@link SportEventDtoSerializer}.
+ */
+@JsonSerialize(using = SportEventDtoSerializer.class)
+public record SportEventDto(
+        Long id,
+        String name,
+        SportType sportType,
+        EventStatus status,
+        LocalDateTime startTime,
+        Long version) {
 }
@@ -0,0 +1,146 @@
+package com.sportevents.api.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes a {@link SportEventDto} straight to the generator, producing the same JSON as the default
+ * record serialization. Field names and status values are encoded once, and so is the embedded sport
+ * type, which is the same for many events of a listing: its JSON is kept per sport type ID and
+ * written as raw bytes. The start time is formatted into a small character array instead of going
+ * through a {@link java.time.format.DateTimeFormatter}.
+ * <p>
+ * Sport types that carry a version, start times outside years 0 to 9999 and mappers writing dates
+ * as timestamps fall back to the configured serializers.
+ */
+public final class SportEventDtoSerializer extends StdSerializer<SportEventDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString SPORT_TYPE = new SerializedString("sportType");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString START_TIME = new SerializedString("startTime");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString[] STATUS_NAMES = Arrays.stream(EventStatus.values())
+            .map(status -> new SerializedString(status.name()))
+            .toArray(SerializedString[]::new);
+
+    // Sport types are few and never deleted, so the cache is not bounded
+    private final Map<Long, EncodedSportType> sportTypes = new ConcurrentHashMap<>();
+
+    private record EncodedSportType(String name, SerializableString json) {
+    }
+
+    public SportEventDtoSerializer() {
+        super(SportEventDto.class);
+    }
+
+    @Override
+    public void serialize(SportEventDto event, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(event);
+        generator.writeFieldName(ID);
+        writeNumber(generator, event.id());
+        generator.writeFieldName(NAME);
+        generator.writeString(event.name());
+        generator.writeFieldName(SPORT_TYPE);
+        writeSportType(event.sportType(), generator, provider);
+        generator.writeFieldName(STATUS);
+        if (event.status() != null) {
+            generator.writeString(STATUS_NAMES[event.status().ordinal()]);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(START_TIME);
+        writeStartTime(event.startTime(), generator, provider);
+        generator.writeFieldName(VERSION);
+        writeNumber(generator, event.version());
+        generator.writeEndObject();
+    }
+
+    private void writeSportType(SportType sportType, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (sportType == null || sportType.getId() == null || sportType.getVersion() != null) {
+            provider.defaultSerializeValue(sportType, generator);
+            return;
+        }
+        EncodedSportType encoded = sportTypes.get(sportType.getId());
+        if (encoded == null || !Objects.equals(encoded.name(), sportType.getName())) {
+            encoded = new EncodedSportType(sportType.getName(), encode(sportType));
+            sportTypes.put(sportType.getId(), encoded);
+        }
+        generator.writeRawValue(encoded.json());
+    }
+
+    private static SerializableString encode(SportType sportType) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(sportType.getId()).append(",\"name\":");
+        if (sportType.getName() != null) {
+            json.append('"').append(JsonStringEncoder.getInstance().quoteAsString(sportType.getName())).append('"');
+        } else {
+            json.append("null");
+        }
+        return new SerializedString(json.append('}').toString());
+    }
+
+    /**
+     * Writes the start time as {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} does.
+     */
+    private static void writeStartTime(LocalDateTime time, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (time == null) {
+            generator.writeNull();
+            return;
+        }
+        if (time.getYear() < 0 || time.getYear() > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(time, generator);
+            return;
+        }
+        char[] text = new char[29];
+        int length = digits(text, 0, time.getYear(), 4);
+        text[length++] = '-';
+        length = digits(text, length, time.getMonthValue(), 2);
+        text[length++] = '-';
+        length = digits(text, length, time.getDayOfMonth(), 2);
+        text[length++] = 'T';
+        length = digits(text, length, time.getHour(), 2);
+        text[length++] = ':';
+        length = digits(text, length, time.getMinute(), 2);
+        text[length++] = ':';
+        length = digits(text, length, time.getSecond(), 2);
+        if (time.getNano() > 0) {
+            text[length++] = '.';
+            length = digits(text, length, time.getNano(), 9);
+            while (text[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(text, 0, length);
+    }
+
+    private static int digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sportevents.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of an event listing. {@code nextCursor} is {@code null} on the last page.
+ */
+public record SportEventPage(List<SportEventDto> events, String nextCursor) {
+}
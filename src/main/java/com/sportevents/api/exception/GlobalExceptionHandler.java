@@ -1,12 +1,14 @@
 package com.sportevents.api.exception;
 
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.util.List;
 
@@ -16,16 +18,18 @@ public class GlobalExceptionHandler {
 
     private static final String ERROR_PREFIX = "Error: ";
 
-    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(ServerWebInputException ex) {
         log.warn("Type mismatch error: {}", ex.getMessage());
-        String message = "Invalid value for parameter '%s': %s".formatted(ex.getName(), ex.getValue());
+        String message = ex.getCause() instanceof TypeMismatchException typeMismatch
+                ? "Invalid value for parameter '%s': %s".formatted(parameterName(ex), typeMismatch.getValue())
+                : ex.getReason();
         ErrorResponse errorResponse = new ErrorResponse(message, null);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
         log.error("Validation error: {}", ex.getMessage());
         List<ErrorResponse.FieldErrorResponse> fieldErrors = ex.getBindingResult().getFieldErrors().stream()
                 .map(fieldError -> new ErrorResponse.FieldErrorResponse(fieldError.getField(), fieldError.getDefaultMessage()))
@@ -55,6 +59,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        log.warn("Conflict: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(ERROR_PREFIX + ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         log.error("Unhandled exception occurred: {}", ex.getMessage(), ex);
@@ -62,6 +73,11 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("Unexpected error occurred", null));
     }
 
+    private static String parameterName(ServerWebInputException ex) {
+        MethodParameter parameter = ex.getMethodParameter();
+        return parameter != null ? parameter.getParameterName() : null;
+    }
+
     public record ErrorResponse(String message, List<FieldErrorResponse> fieldErrors) {
         public record FieldErrorResponse(String field, String message) {
         }
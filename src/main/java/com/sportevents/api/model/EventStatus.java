@@ -1,7 +1,45 @@
 package com.sportevents.api.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum EventStatus {
-    INACTIVE,
-    ACTIVE,
-    FINISHED
+    INACTIVE(0),
+    ACTIVE(1),
+    FINISHED(2);
+
+    private static final EventStatus[] BY_CODE = {INACTIVE, ACTIVE, FINISHED};
+
+    private final short code;
+
+    EventStatus(int code) {
+        this.code = (short) code;
+    }
+
+    /**
+     * The value stored in the {@code status} column. Codes are fixed per status rather than derived
+     * from the declaration order, so statuses can be added or reordered without rewriting rows.
+     */
+    public short code() {
+        return code;
+    }
+
+    public static EventStatus fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown event status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Statuses an event may move to this status from. This is the transition table enforced by
+     * {@code SportEventService.validateAndTransitionStatus}, in a form that can be put in a
+     * {@code WHERE status IN (...)} clause.
+     */
+    public Set<EventStatus> predecessors() {
+        return switch (this) {
+            case INACTIVE, FINISHED -> EnumSet.of(ACTIVE);
+            case ACTIVE -> EnumSet.of(INACTIVE);
+        };
+    }
 }
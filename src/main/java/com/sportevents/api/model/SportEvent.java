@@ -1,8 +1,10 @@
 package com.sportevents.api.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.LocalDateTime;
@@ -24,4 +26,12 @@ public class SportEvent {
     private LocalDateTime startTime;
 
     private EventStatus status;
+
+    /**
+     * Incremented on every update and used as the entity tag of the resource. Assigned by the
+     * database, so it is ignored in request bodies.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
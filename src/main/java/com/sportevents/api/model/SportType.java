@@ -1,8 +1,11 @@
 package com.sportevents.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
@@ -14,4 +17,13 @@ public class SportType {
 
     @NotNull(message = "Name must not be null")
     private String name;
+
+    /**
+     * Row version, served as the ETag of the sport type. Left out when the sport type is embedded in
+     * an event.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 }
@@ -0,0 +1,94 @@
+package com.sportevents.api.repository;
+
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.EventCount;
+import com.sportevents.api.dto.EventCursor;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hand-written queries that join sport_events with sport_types, so a {@link SportEventDto} is
+ * built from a single round trip instead of one query for the event and one for its sport type.
+ */
+public interface CustomSportEventRepository {
+
+    Flux<SportEventDto> findAllWithSportType();
+
+    Flux<SportEventDto> findByStatusWithSportType(EventStatus status);
+
+    Flux<SportEventDto> findBySportTypeIdWithSportType(Long sportTypeId);
+
+    Flux<SportEventDto> findByStatusAndSportTypeIdWithSportType(EventStatus status, Long sportTypeId);
+
+    Mono<SportEventDto> findByIdWithSportType(Long id);
+
+    /**
+     * Returns the events with the given IDs, in no particular order.
+     */
+    Flux<SportEventDto> findAllByIdWithSportType(Collection<Long> ids);
+
+    /**
+     * Returns up to {@code limit} events ordered by {@code (start_time, id)} that come after the given
+     * cursor. {@code status}, {@code sportTypeId} and {@code after} are optional.
+     */
+    Flux<SportEventDto> findPageWithSportType(EventStatus status, Long sportTypeId, EventCursor after, int limit);
+
+    /**
+     * Inserts all events with a single multi-row INSERT and returns them with their generated IDs,
+     * in the order they were given.
+     */
+    Flux<SportEvent> insertAll(List<SportEvent> events);
+
+    /**
+     * Sets the status of one event in a single statement, but only if its current status is one of
+     * {@code fromStatuses} and, when {@code notStartedBefore} is given, its start time is not before
+     * it. Returns the updated event, or an empty result when no row matched.
+     */
+    Mono<SportEvent> transitionStatus(Long id, EventStatus newStatus, Collection<EventStatus> fromStatuses,
+                                      LocalDateTime notStartedBefore);
+
+    /**
+     * Set-based variant of {@link #transitionStatus}: moves every event matching the request's
+     * criteria whose status is one of {@code fromStatuses} and returns the events that were updated.
+     */
+    Flux<SportEvent> transitionStatuses(BulkStatusUpdateRequest request, Collection<EventStatus> fromStatuses,
+                                        LocalDateTime notStartedBefore);
+
+    /**
+     * Returns every event matching the request's criteria, regardless of status.
+     */
+    Flux<SportEvent> findMatching(BulkStatusUpdateRequest request);
+
+    /**
+     * Streams every event whose start time is within {@code [startTimeFrom, startTimeTo)}, in ID
+     * order. Both bounds are optional. Rows are fetched from the cursor {@code fetchSize} at a time
+     * as the subscriber requests them, so the result is never held in memory as a whole.
+     */
+    Flux<SportEvent> streamForExport(LocalDateTime startTimeFrom, LocalDateTime startTimeTo, int fetchSize);
+
+    /**
+     * Counts events per sport type and status with a single GROUP BY.
+     */
+    Flux<EventCount> countBySportTypeAndStatus();
+
+    /**
+     * Streams the ID, sport type, status and version of every event in ID order, with the other
+     * fields left unset, so that counts can be reconciled with changes made while they were taken.
+     */
+    Flux<SportEvent> streamStatuses();
+
+    /**
+     * Returns the IDs, in ascending order, of up to {@code limit} events whose lower-cased name has a
+     * word starting with each of {@code tokens}, which must consist of letters and digits only.
+     * {@code status} and {@code sportTypeId} are optional. Every name is matched against a regular
+     * expression, so this scans the table.
+     */
+    Flux<Long> searchIdsByName(List<String> tokens, EventStatus status, Long sportTypeId, int limit);
+}
@@ -0,0 +1,339 @@
+package com.sportevents.api.repository;
+
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.EventCount;
+import com.sportevents.api.dto.EventCursor;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class CustomSportEventRepositoryImpl implements CustomSportEventRepository {
+
+    private static final String SELECT_WITH_SPORT_TYPE = """
+            SELECT e.id, e.name, e.sport_type_id, e.start_time, e.status, e.version, t.name AS sport_type_name
+            FROM sport_events e
+            JOIN sport_types t ON t.id = e.sport_type_id
+            """;
+
+    /**
+     * The page is cut from sport_events alone before joining, so the limit is applied to an index
+     * range scan instead of to the join. Equality columns lead the inner ORDER BY so that it matches
+     * the composite index prefix and no sort step is needed.
+     */
+    private static final String SELECT_PAGE_WITH_SPORT_TYPE = """
+            SELECT e.id, e.name, e.sport_type_id, e.start_time, e.status, e.version, t.name AS sport_type_name
+            FROM (SELECT * FROM sport_events %s ORDER BY %s LIMIT :limit) e
+            JOIN sport_types t ON t.id = e.sport_type_id
+            ORDER BY e.start_time, e.id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<SportEventDto> findAllWithSportType() {
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEventDto> findByStatusWithSportType(EventStatus status) {
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE + "WHERE e.status = :status")
+                .bind("status", status.code())
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEventDto> findBySportTypeIdWithSportType(Long sportTypeId) {
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE + "WHERE e.sport_type_id = :sportTypeId")
+                .bind("sportTypeId", sportTypeId)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEventDto> findByStatusAndSportTypeIdWithSportType(EventStatus status, Long sportTypeId) {
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE + "WHERE e.status = :status AND e.sport_type_id = :sportTypeId")
+                .bind("status", status.code())
+                .bind("sportTypeId", sportTypeId)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Mono<SportEventDto> findByIdWithSportType(Long id) {
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE + "WHERE e.id = :id")
+                .bind("id", id)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .one();
+    }
+
+    @Override
+    public Flux<SportEventDto> findAllByIdWithSportType(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_WITH_SPORT_TYPE + "WHERE e.id IN (:ids)")
+                .bind("ids", ids)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEventDto> findPageWithSportType(EventStatus status, Long sportTypeId, EventCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<String> orderBy = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        if (status != null) {
+            conditions.add("status = :status");
+            orderBy.add("status");
+            bindings.put("status", status.code());
+        }
+        if (sportTypeId != null) {
+            conditions.add("sport_type_id = :sportTypeId");
+            orderBy.add("sport_type_id");
+            bindings.put("sportTypeId", sportTypeId);
+        }
+        if (after != null) {
+            conditions.add("start_time >= :afterStartTime AND (start_time > :afterStartTime OR id > :afterId)");
+            bindings.put("afterStartTime", after.startTime());
+            bindings.put("afterId", after.id());
+        }
+        orderBy.add("start_time");
+        orderBy.add("id");
+        bindings.put("limit", limit);
+
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+        String sql = SELECT_PAGE_WITH_SPORT_TYPE.formatted(where, String.join(", ", orderBy));
+        return bindAll(databaseClient.sql(sql), bindings)
+                .map(CustomSportEventRepositoryImpl::toDto)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEvent> insertAll(List<SportEvent> events) {
+        if (events.isEmpty()) {
+            return Flux.empty();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO sport_events (name, sport_type_id, start_time, status) VALUES ");
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:name%1$d, :sportTypeId%1$d, :startTime%1$d, :status%1$d)".formatted(i));
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.returnGeneratedValues("id"));
+        for (int i = 0; i < events.size(); i++) {
+            SportEvent event = events.get(i);
+            spec = spec.bind("name" + i, event.getName())
+                    .bind("sportTypeId" + i, event.getSportTypeId())
+                    .bind("startTime" + i, event.getStartTime())
+                    .bind("status" + i, event.getStatus().code());
+        }
+        return spec.map(row -> row.get("id", Long.class))
+                .all()
+                .zipWithIterable(events, (id, event) -> {
+                    event.setId(id);
+                    event.setVersion(0L);
+                    return event;
+                });
+    }
+
+    @Override
+    public Mono<SportEvent> transitionStatus(Long id, EventStatus newStatus, Collection<EventStatus> fromStatuses,
+                                             LocalDateTime notStartedBefore) {
+        String update = "UPDATE sport_events SET status = :newStatus, version = version + 1 WHERE id = :id AND status IN (:fromStatuses)"
+                + (notStartedBefore != null ? " AND start_time >= :notStartedBefore" : "");
+        // FINAL TABLE returns the updated row from the same statement, H2's form of UPDATE ... RETURNING
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT * FROM FINAL TABLE (" + update + ")")
+                .bind("newStatus", newStatus.code())
+                .bind("id", id)
+                .bind("fromStatuses", codes(fromStatuses));
+        if (notStartedBefore != null) {
+            spec = spec.bind("notStartedBefore", notStartedBefore);
+        }
+        return spec.map(CustomSportEventRepositoryImpl::toEvent).one();
+    }
+
+    @Override
+    public Flux<SportEvent> transitionStatuses(BulkStatusUpdateRequest request, Collection<EventStatus> fromStatuses,
+                                               LocalDateTime notStartedBefore) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        addSelection(request, conditions, bindings);
+        conditions.add("status IN (:fromStatuses)");
+        bindings.put("fromStatuses", codes(fromStatuses));
+        if (notStartedBefore != null) {
+            conditions.add("start_time >= :notStartedBefore");
+            bindings.put("notStartedBefore", notStartedBefore);
+        }
+        bindings.put("newStatus", request.newStatus().code());
+
+        String update = "UPDATE sport_events SET status = :newStatus, version = version + 1 WHERE " + String.join(" AND ", conditions);
+        return bindAll(databaseClient.sql("SELECT * FROM FINAL TABLE (" + update + ")"), bindings)
+                .map(CustomSportEventRepositoryImpl::toEvent)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEvent> findMatching(BulkStatusUpdateRequest request) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        addSelection(request, conditions, bindings);
+
+        String sql = "SELECT * FROM sport_events WHERE " + String.join(" AND ", conditions);
+        return bindAll(databaseClient.sql(sql), bindings)
+                .map(CustomSportEventRepositoryImpl::toEvent)
+                .all();
+    }
+
+    @Override
+    public Flux<SportEvent> streamForExport(LocalDateTime startTimeFrom, LocalDateTime startTimeTo, int fetchSize) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (startTimeFrom != null) {
+            conditions.add("start_time >= :startTimeFrom");
+            bindings.put("startTimeFrom", startTimeFrom);
+        }
+        if (startTimeTo != null) {
+            conditions.add("start_time < :startTimeTo");
+            bindings.put("startTimeTo", startTimeTo);
+        }
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return bindAll(databaseClient.sql("SELECT * FROM sport_events" + where + " ORDER BY id"), bindings)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(CustomSportEventRepositoryImpl::toEvent)
+                .all();
+    }
+
+    @Override
+    public Flux<EventCount> countBySportTypeAndStatus() {
+        return databaseClient.sql("SELECT sport_type_id, status, COUNT(*) AS event_count FROM sport_events GROUP BY sport_type_id, status")
+                .map(row -> new EventCount(
+                        row.get("sport_type_id", Long.class),
+                        status(row),
+                        row.get("event_count", Long.class)))
+                .all();
+    }
+
+    @Override
+    public Flux<SportEvent> streamStatuses() {
+        return databaseClient.sql("SELECT id, sport_type_id, status, version FROM sport_events ORDER BY id")
+                .map(row -> {
+                    SportEvent event = new SportEvent();
+                    event.setId(row.get("id", Long.class));
+                    event.setSportTypeId(row.get("sport_type_id", Long.class));
+                    event.setStatus(status(row));
+                    event.setVersion(row.get("version", Long.class));
+                    return event;
+                })
+                .all();
+    }
+
+    @Override
+    public Flux<Long> searchIdsByName(List<String> tokens, EventStatus status, Long sportTypeId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            // A word starts at the beginning of the name or after anything that is not a letter or digit
+            conditions.add("REGEXP_LIKE(LOWER(name), :word%d)".formatted(i));
+            bindings.put("word" + i, "(^|[^\\p{L}\\p{N}])" + tokens.get(i));
+        }
+        if (status != null) {
+            conditions.add("status = :status");
+            bindings.put("status", status.code());
+        }
+        if (sportTypeId != null) {
+            conditions.add("sport_type_id = :sportTypeId");
+            bindings.put("sportTypeId", sportTypeId);
+        }
+        bindings.put("limit", limit);
+
+        String sql = "SELECT id FROM sport_events WHERE " + String.join(" AND ", conditions) + " ORDER BY id LIMIT :limit";
+        return bindAll(databaseClient.sql(sql), bindings)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    private static void addSelection(BulkStatusUpdateRequest request, List<String> conditions, Map<String, Object> bindings) {
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            conditions.add("id IN (:ids)");
+            bindings.put("ids", request.ids());
+        }
+        if (request.sportTypeId() != null) {
+            conditions.add("sport_type_id = :sportTypeId");
+            bindings.put("sportTypeId", request.sportTypeId());
+        }
+        if (request.startTimeFrom() != null) {
+            conditions.add("start_time >= :startTimeFrom");
+            bindings.put("startTimeFrom", request.startTimeFrom());
+        }
+        if (request.startTimeTo() != null) {
+            conditions.add("start_time < :startTimeTo");
+            bindings.put("startTimeTo", request.startTimeTo());
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one selection criterion is required");
+        }
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static List<Short> codes(Collection<EventStatus> statuses) {
+        return statuses.stream().map(EventStatus::code).toList();
+    }
+
+    private static EventStatus status(Readable row) {
+        Short code = row.get("status", Short.class);
+        return code != null ? EventStatus.fromCode(code) : null;
+    }
+
+    private static SportEvent toEvent(Readable row) {
+        SportEvent event = new SportEvent();
+        event.setId(row.get("id", Long.class));
+        event.setName(row.get("name", String.class));
+        event.setSportTypeId(row.get("sport_type_id", Long.class));
+        event.setStartTime(row.get("start_time", LocalDateTime.class));
+        event.setStatus(status(row));
+        event.setVersion(row.get("version", Long.class));
+        return event;
+    }
+
+    /**
+     * Maps a joined row by column name, avoiding the reflective entity conversion of Spring Data.
+     */
+    private static SportEventDto toDto(Readable row) {
+        SportType sportType = new SportType();
+        sportType.setId(row.get("sport_type_id", Long.class));
+        sportType.setName(row.get("sport_type_name", String.class));
+
+        return new SportEventDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                sportType,
+                status(row),
+                row.get("start_time", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
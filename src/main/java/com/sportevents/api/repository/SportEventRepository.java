@@ -5,10 +5,14 @@ import com.sportevents.api.model.SportEvent;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 
-public interface SportEventRepository extends ReactiveCrudRepository<SportEvent, Long> {
+import java.util.Collection;
+
+public interface SportEventRepository extends ReactiveCrudRepository<SportEvent, Long>, CustomSportEventRepository {
     Flux<SportEvent> findByStatus(EventStatus status);
 
     Flux<SportEvent> findBySportTypeId(Long sportTypeId);
 
     Flux<SportEvent> findByStatusAndSportTypeId(EventStatus status, Long sportTypeId);
+
+    Flux<SportEvent> findByStatusIn(Collection<EventStatus> statuses);
 }
@@ -0,0 +1,48 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.ListingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entity tags of the event and sport type listings. Each listing has a counter that is bumped after
+ * every write to it, prefixed with an epoch taken at startup so that tags issued before a restart
+ * never match.
+ * <p>
+ * The counters only see this instance's writes: behind a load balancer an instance could confirm a
+ * tag although another instance has written since. Tags are therefore only issued with
+ * {@link ListingProperties#etags()}, which is meant for single-instance deployments; otherwise the
+ * methods return {@code null}.
+ * <p>
+ * Take the tag before reading the listing: a write that lands in between then yields fresh data
+ * under an older tag, which costs the client one full response later instead of hiding the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class CollectionVersions {
+
+    private final ListingProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong sportTypes = new AtomicLong();
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        events.incrementAndGet();
+    }
+
+    public void sportTypeCreated() {
+        sportTypes.incrementAndGet();
+    }
+
+    public String eventsTag() {
+        return properties.etags() ? epoch + "-" + events.get() : null;
+    }
+
+    public String sportTypesTag() {
+        return properties.etags() ? epoch + "-" + sportTypes.get() : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.EventStatus;
+
+/**
+ * Filter of an unpaged event listing; either part may be null to not filter on it.
+ */
+record EventFilter(EventStatus status, Long sportTypeId) {
+}
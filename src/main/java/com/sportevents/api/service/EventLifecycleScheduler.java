@@ -0,0 +1,204 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.LifecycleProperties;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Activates events when they start and finishes them once their sport type's duration has passed.
+ * Upcoming transitions are kept in a queue ordered by due time, so a tick only looks at the
+ * transitions that are due instead of scanning the events table. The queue is rebuilt from the
+ * database on startup and kept up to date from {@link SportEventChange} events.
+ * <p>
+ * Only the latest transition of an event is pending. Entries it replaced, or of events that no
+ * longer need one, stay in the queue until they are polled and skipped, and the queue is rebuilt
+ * from the pending transitions once such entries outnumber them, so its size follows the number
+ * of upcoming events rather than the number of changes.
+ * <p>
+ * Due transitions are applied with the same conditional UPDATE as manual ones, so an entry that
+ * became stale because the event was changed in the meantime simply matches no row.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "sport-events.lifecycle.enabled", havingValue = "true")
+public class EventLifecycleScheduler {
+
+    private static final int COMPACTION_SLACK = 64;
+
+    private final SportEventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LifecycleProperties lifecycleProperties;
+
+    private final PriorityQueue<ScheduledTransition> queue =
+            new PriorityQueue<>(Comparator.comparing(ScheduledTransition::dueAt));
+    private final Map<Long, ScheduledTransition> pendingByEvent = new HashMap<>();
+
+    private Disposable ticker;
+
+    record ScheduledTransition(LocalDateTime dueAt, Long eventId, EventStatus target) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Overdue transitions are scheduled too, so events missed while the application was down are
+        // activated and finished on the first ticks
+        long scheduled = eventRepository.findByStatusIn(EnumSet.of(EventStatus.INACTIVE, EventStatus.ACTIVE))
+                .doOnNext(this::schedule)
+                .count()
+                .block();
+        log.info("Scheduled lifecycle transitions for {} events", scheduled);
+
+        ticker = Flux.interval(lifecycleProperties.tickInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> applyDueTransitions(LocalDateTime.now())
+                        .onErrorResume(ex -> {
+                            log.error("Failed to apply lifecycle transitions", ex);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        SportEvent event = change.event();
+        if (event.getStatus() == EventStatus.ACTIVE
+                || (event.getStatus() == EventStatus.INACTIVE && event.getStartTime().isAfter(LocalDateTime.now()))) {
+            schedule(event);
+        } else {
+            unschedule(event.getId());
+        }
+    }
+
+    /**
+     * Applies all transitions due at {@code now}, one UPDATE per target status and batch, and emits
+     * the number of events that changed status.
+     */
+    Mono<Long> applyDueTransitions(LocalDateTime now) {
+        List<ScheduledTransition> due = pollDue(now);
+        if (due.isEmpty()) {
+            return Mono.just(0L);
+        }
+        Map<EventStatus, List<Long>> idsByTarget = due.stream()
+                .collect(Collectors.groupingBy(ScheduledTransition::target,
+                        Collectors.mapping(ScheduledTransition::eventId, Collectors.toList())));
+        return Flux.fromIterable(idsByTarget.entrySet())
+                .concatMap(entry -> Flux.fromIterable(entry.getValue())
+                        .buffer(lifecycleProperties.batchSize())
+                        .concatMap(ids -> transition(ids, entry.getKey())))
+                .doOnNext(updated -> eventPublisher.publishEvent(
+                        SportEventChange.statusChanged(updated, previousStatus(updated.getStatus()))))
+                .count()
+                .doOnSuccess(count -> log.debug("Applied {} of {} due lifecycle transitions", count, due.size()))
+                .doOnError(ex -> requeue(due));
+    }
+
+    int pending() {
+        synchronized (queue) {
+            return pendingByEvent.size();
+        }
+    }
+
+    int queued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private Flux<SportEvent> transition(List<Long> ids, EventStatus target) {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(ids, null, null, null, target);
+        return eventRepository.transitionStatuses(request, target.predecessors(), null);
+    }
+
+    private void schedule(SportEvent event) {
+        ScheduledTransition transition = event.getStatus() == EventStatus.INACTIVE
+                ? new ScheduledTransition(event.getStartTime(), event.getId(), EventStatus.ACTIVE)
+                : new ScheduledTransition(finishTime(event), event.getId(), EventStatus.FINISHED);
+        synchronized (queue) {
+            pendingByEvent.put(transition.eventId(), transition);
+            queue.add(transition);
+            compactIfStale();
+        }
+    }
+
+    private void unschedule(Long eventId) {
+        synchronized (queue) {
+            if (pendingByEvent.remove(eventId) != null) {
+                compactIfStale();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the queue from the pending transitions once it holds more replaced entries than
+     * pending ones. Must be called holding the queue lock.
+     */
+    private void compactIfStale() {
+        if (queue.size() > 2 * pendingByEvent.size() + COMPACTION_SLACK) {
+            queue.clear();
+            queue.addAll(pendingByEvent.values());
+        }
+    }
+
+    private List<ScheduledTransition> pollDue(LocalDateTime now) {
+        List<ScheduledTransition> due = new ArrayList<>();
+        synchronized (queue) {
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                ScheduledTransition transition = queue.poll();
+                // Replaced entries are skipped rather than removed from the queue when replaced
+                if (pendingByEvent.remove(transition.eventId(), transition)) {
+                    due.add(transition);
+                }
+            }
+        }
+        return due;
+    }
+
+    private void requeue(List<ScheduledTransition> transitions) {
+        synchronized (queue) {
+            for (ScheduledTransition transition : transitions) {
+                if (pendingByEvent.putIfAbsent(transition.eventId(), transition) == null) {
+                    queue.add(transition);
+                }
+            }
+        }
+    }
+
+    private LocalDateTime finishTime(SportEvent event) {
+        return event.getStartTime().plus(lifecycleProperties.durationOf(event.getSportTypeId()));
+    }
+
+    private static EventStatus previousStatus(EventStatus status) {
+        return status.predecessors().iterator().next();
+    }
+}
@@ -0,0 +1,465 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.ReadModelProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Every event held in memory, so that listings and lookups by ID need no query.
+ * <p>
+ * Events are stored column by column in primitive arrays and addressed by slot, assigned in the
+ * order events are added. Lookups go through an open-addressing ID to slot map, filters through
+ * one bit set of slots per status and per sport type, and listings are returned in
+ * {@code (start_time, id)} order from a sorted array of slots. Apart from the name, an event
+ * costs about 70 bytes; {@value #MEMORY_METRIC} reports the estimate for the current contents.
+ * <p>
+ * Writes hold the lock that listings wait for, so they avoid work proportional to the number of
+ * events: a status change leaves the order untouched, and new events go to a small sorted array
+ * of recent slots that listings merge with the main one. Only once {@value #MAX_RECENT} have
+ * gathered are they merged into the main array, in one pass.
+ * <p>
+ * The model is loaded from the database once the application is ready and is kept current from
+ * {@link SportEventChange}s. A change is only applied if it is not older than what the model holds,
+ * by row version, so changes made while the model is loading are not lost. It only sees writes made
+ * by this instance, so it suits deployments with a single writer.
+ */
+@Log4j2
+@Component
+public class EventReadModel {
+
+    static final String EVENTS_METRIC = "read.model.events";
+    static final String MEMORY_METRIC = "read.model.memory";
+
+    private static final int NO_SLOT = -1;
+    private static final byte NO_STATUS = -1;
+    private static final EventStatus[] STATUSES = EventStatus.values();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int MAX_RECENT = 1024;
+
+    private final ReadModelProperties properties;
+    private final SportEventRepository eventRepository;
+    private final SportTypeCache sportTypeCache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    private int size;
+    private long[] ids;
+    private String[] names;
+    private long[] sportTypeIds;
+    private long[] startTimes;
+    private long[] versions;
+    private byte[] statuses;
+    private long nameBytes;
+
+    private final SlotIndex slotsById;
+    private final BitSet[] byStatus = new BitSet[STATUSES.length];
+    private final Map<Long, BitSet> bySportType = new HashMap<>();
+    private int[] byStartTime;
+    private int sorted;
+    private final int[] recent = new int[MAX_RECENT];
+    private int recentSize;
+
+    public EventReadModel(ReadModelProperties properties, SportEventRepository eventRepository,
+                          SportTypeCache sportTypeCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventRepository = eventRepository;
+        this.sportTypeCache = sportTypeCache;
+
+        int capacity = properties.enabled() ? properties.initialCapacity() : 0;
+        ids = new long[capacity];
+        names = new String[capacity];
+        sportTypeIds = new long[capacity];
+        startTimes = new long[capacity];
+        versions = new long[capacity];
+        statuses = new byte[capacity];
+        byStartTime = new int[capacity];
+        slotsById = new SlotIndex(capacity);
+        Arrays.setAll(byStatus, ordinal -> new BitSet(capacity));
+
+        if (properties.enabled()) {
+            Gauge.builder(EVENTS_METRIC, this, EventReadModel::size)
+                    .description("Events held by the read model")
+                    .register(meterRegistry);
+            Gauge.builder(MEMORY_METRIC, this, EventReadModel::estimatedBytes)
+                    .description("Estimated heap used by the read model")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long count = eventRepository.findAll()
+                .doOnNext(this::apply)
+                .count()
+                .blockOptional()
+                .orElse(0L);
+        lock.writeLock().lock();
+        try {
+            // Slots were appended unsorted while loading; sorting once is cheaper than inserting each
+            int[] slots = IntStream.range(0, size)
+                    .boxed()
+                    .sorted(Comparator.comparingLong((Integer slot) -> startTimes[slot])
+                            .thenComparingLong(slot -> ids[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            byStartTime = Arrays.copyOf(slots, ids.length);
+            sorted = size;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} events into the read model in {} ms, using about {} KiB",
+                count, (System.nanoTime() - start) / 1_000_000, estimatedBytes() / 1024);
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        if (properties.enabled()) {
+            apply(change.event());
+        }
+    }
+
+    /**
+     * Whether the model has been loaded and can answer reads.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the event with the given ID, or null if the model does not hold it.
+     */
+    public SportEventDto findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot == NO_SLOT ? null : toDto(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the events in {@code status} and of {@code sportTypeId}, either of which may be null
+     * to not filter on it, ordered by start time and ID.
+     */
+    public List<SportEventDto> filter(EventStatus status, Long sportTypeId) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            if (status != null) {
+                matches = byStatus[status.ordinal()];
+            }
+            if (sportTypeId != null) {
+                BitSet ofSportType = bySportType.get(sportTypeId);
+                if (ofSportType == null) {
+                    return List.of();
+                }
+                if (matches == null) {
+                    matches = ofSportType;
+                } else {
+                    matches = (BitSet) matches.clone();
+                    matches.and(ofSportType);
+                }
+            }
+            List<SportEventDto> events = new ArrayList<>(matches == null ? size : matches.cardinality());
+            int i = 0;
+            int j = 0;
+            while (i < sorted || j < recentSize) {
+                int slot = j == recentSize || (i < sorted && compareByStartTime(byStartTime[i], recent[j]) < 0)
+                        ? byStartTime[i++]
+                        : recent[j++];
+                if (matches == null || matches.get(slot)) {
+                    events.add(toDto(slot));
+                }
+            }
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(SportEvent event) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.get(event.getId());
+            long startTime = toEpochNanos(event.getStartTime());
+            boolean moved = true;
+            if (slot == NO_SLOT) {
+                slot = append(event.getId());
+            } else if (event.getVersion() != null && event.getVersion() < versions[slot]) {
+                return;
+            } else {
+                unindex(slot);
+                moved = startTimes[slot] != startTime;
+                if (moved) {
+                    removeByStartTime(slot);
+                }
+            }
+            nameBytes += stringBytes(event.getName()) - stringBytes(names[slot]);
+            names[slot] = event.getName();
+            sportTypeIds[slot] = event.getSportTypeId();
+            startTimes[slot] = startTime;
+            versions[slot] = event.getVersion() != null ? event.getVersion() : 0L;
+            statuses[slot] = event.getStatus() != null ? (byte) event.getStatus().ordinal() : NO_STATUS;
+            index(slot);
+            if (moved) {
+                addByStartTime(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int append(long id) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            sportTypeIds = Arrays.copyOf(sportTypeIds, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            byStartTime = Arrays.copyOf(byStartTime, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        statuses[slot] = NO_STATUS;
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    private void index(int slot) {
+        if (statuses[slot] != NO_STATUS) {
+            byStatus[statuses[slot]].set(slot);
+        }
+        bySportType.computeIfAbsent(sportTypeIds[slot], sportTypeId -> new BitSet()).set(slot);
+    }
+
+    private void unindex(int slot) {
+        if (statuses[slot] != NO_STATUS) {
+            byStatus[statuses[slot]].clear(slot);
+        }
+        bySportType.get(sportTypeIds[slot]).clear(slot);
+    }
+
+    private void addByStartTime(int slot) {
+        if (!ready) {
+            // Sorted in one go once loading completes
+            byStartTime[slot] = slot;
+            return;
+        }
+        if (recentSize == MAX_RECENT) {
+            mergeRecent();
+        }
+        int position = -(search(recent, recentSize, slot) + 1);
+        System.arraycopy(recent, position, recent, position + 1, recentSize - position);
+        recent[position] = slot;
+        recentSize++;
+    }
+
+    /**
+     * Removes a slot whose start time is about to change. Start times are set when an event is
+     * created, so unlike adding, this does not need to be cheap.
+     */
+    private void removeByStartTime(int slot) {
+        if (!ready) {
+            return;
+        }
+        int position = search(recent, recentSize, slot);
+        if (position >= 0) {
+            System.arraycopy(recent, position + 1, recent, position, recentSize - 1 - position);
+            recentSize--;
+        } else {
+            position = search(byStartTime, sorted, slot);
+            System.arraycopy(byStartTime, position + 1, byStartTime, position, sorted - 1 - position);
+            sorted--;
+        }
+    }
+
+    /**
+     * Merges the recent slots into {@code byStartTime} from the back, which has room for all slots.
+     */
+    private void mergeRecent() {
+        int i = sorted - 1;
+        int j = recentSize - 1;
+        for (int k = sorted + recentSize - 1; j >= 0; k--) {
+            byStartTime[k] = i >= 0 && compareByStartTime(byStartTime[i], recent[j]) > 0
+                    ? byStartTime[i--]
+                    : recent[j--];
+        }
+        sorted += recentSize;
+        recentSize = 0;
+    }
+
+    /**
+     * Binary search of the first {@code length} slots of a sorted array, following the contract of
+     * {@link Arrays#binarySearch(int[], int)}.
+     */
+    private int search(int[] slots, int length, int slot) {
+        int low = 0;
+        int high = length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareByStartTime(slots[middle], slot);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compareByStartTime(int slot, int other) {
+        return startTimes[slot] != startTimes[other]
+                ? Long.compare(startTimes[slot], startTimes[other])
+                : Long.compare(ids[slot], ids[other]);
+    }
+
+    private SportEventDto toDto(int slot) {
+        // Built like the joined query builds it, so responses do not depend on where they came from
+        SportType sportType = new SportType();
+        sportType.setId(sportTypeIds[slot]);
+        sportType.setName(sportTypeCache.getCached(sportTypeIds[slot]).map(SportType::getName).orElse(null));
+        return new SportEventDto(
+                ids[slot],
+                names[slot],
+                sportType,
+                statuses[slot] != NO_STATUS ? STATUSES[statuses[slot]] : null,
+                fromEpochNanos(startTimes[slot]),
+                versions[slot]);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the arrays, bit sets and names, assuming compressed references and Latin-1 names.
+     */
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = ids.length * (8L + 4 + 8 + 8 + 8 + 1 + 4);
+            long bitSets = Arrays.stream(byStatus).mapToLong(bits -> bits.size() / 8).sum()
+                    + bySportType.values().stream().mapToLong(bits -> bits.size() / 8).sum();
+            return columns + recent.length * 4L + slotsById.bytes() + bitSets + nameBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long stringBytes(String value) {
+        // String object and its byte array, each with a 16 byte header rounded to 8 bytes
+        return value == null ? 0 : 24 + ((16 + value.length() + 7) & ~7);
+    }
+
+    private static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Open-addressing map from event ID to slot with linear probing, so neither is boxed. Events
+     * are never deleted, so entries are never removed.
+     */
+    private static final class SlotIndex {
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        SlotIndex(int expected) {
+            allocate(Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) * 2);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; values[i] != NO_SLOT; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return NO_SLOT;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                allocate(keys.length * 2);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldValues[i] != NO_SLOT) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(key, value);
+            size++;
+        }
+
+        long bytes() {
+            return keys.length * (8L + 4);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, NO_SLOT);
+        }
+
+        private void insert(long key, int value) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (values[i] != NO_SLOT) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static int mix(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
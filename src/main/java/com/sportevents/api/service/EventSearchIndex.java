@@ -0,0 +1,336 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.SearchProperties;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Index of event names for typeahead search. Names are split into lower-cased tokens at anything
+ * that is not a letter or digit, and each token maps to the sorted IDs of the events whose name
+ * contains it. The tokens are kept in a sorted map, so the tokens starting with a prefix are one
+ * range of it.
+ * <p>
+ * A query matches an event if every query token is a prefix of one of the event's tokens. Matches
+ * are found by walking the IDs of the most selective query token in order and checking the other
+ * tokens and the filters per event, so a search stops as soon as it has enough results.
+ * <p>
+ * The index is built from the database once the application is ready and is kept current from
+ * {@link SportEventChange}s, with status changes applied by row version like in
+ * {@link EventReadModel}. To pick up writes of other instances it is rebuilt every
+ * {@link SearchProperties#resyncInterval()} into a fresh index that replaces the current one once
+ * complete, so for the duration of a rebuild the names are held twice. Changes made meanwhile are
+ * applied to both; as they carry row versions, the rebuild cannot undo them. Until the first build
+ * completes, {@link #isReady()} is false and searches are left to the database.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EventSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final SportEventRepository eventRepository;
+    private final SearchProperties properties;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Index current = new Index();
+    private volatile Index next;
+    private volatile boolean ready;
+
+    private Disposable resync;
+
+    /**
+     * What a search needs to know of an event besides its tokens, which are shared with the keys of
+     * the token map.
+     */
+    private record Entry(String[] tokens, long sportTypeId, EventStatus status, long version) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        // The first build runs in the background as well; searches query the database until it completes
+        resync = Flux.interval(Duration.ZERO, properties.resyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(ex -> {
+                            log.error("Failed to build the event search index", ex);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (resync != null) {
+            resync.dispose();
+        }
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        if (!properties.enabled()) {
+            return;
+        }
+        // Read the rebuild before current: once a rebuild completes current is swapped in before the
+        // rebuild is cleared, so a change is never applied only to the index being dropped
+        Index pending = next;
+        Index index = current;
+        index.add(change.event());
+        if (pending != null && pending != index) {
+            pending.add(change.event());
+        }
+    }
+
+    /**
+     * Whether the index is enabled and has been built, so that {@link #search} sees every event.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Splits a name or query into the tokens the index works with.
+     */
+    public static List<String> tokenize(String text) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Returns the IDs, in ascending order, of up to {@code limit} events matching every token of
+     * {@code query} as a prefix and the optional {@code status} and {@code sportTypeId}.
+     */
+    public List<Long> search(String query, EventStatus status, Long sportTypeId, int limit) {
+        List<String> prefixes = tokenize(query);
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+        return current.search(prefixes, status, sportTypeId, limit);
+    }
+
+    int size() {
+        return current.entries.size();
+    }
+
+    Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            long start = System.nanoTime();
+            Index fresh = new Index();
+            next = fresh;
+            return eventRepository.findAll()
+                    .doOnNext(fresh::add)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        current = fresh;
+                        ready = true;
+                        log.info("Indexed names of {} events with {} distinct tokens in {} ms",
+                                fresh.entries.size(), fresh.byToken.size(), (System.nanoTime() - start) / 1_000_000);
+                    })
+                    .doFinally(signal -> {
+                        next = null;
+                        rebuilding.set(false);
+                    });
+        });
+    }
+
+    private static boolean matches(Entry entry, List<String> prefixes, EventStatus status, Long sportTypeId) {
+        if ((status != null && entry.status() != status) || (sportTypeId != null && entry.sportTypeId() != sportTypeId)) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (Arrays.stream(entry.tokens()).noneMatch(token -> token.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Entry updated(Entry current, SportEvent event, long version) {
+        return current.version() > version
+                ? current
+                : new Entry(current.tokens(), event.getSportTypeId(), event.getStatus(), version);
+    }
+
+    /**
+     * The token map and the entries of one build of the index.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, Postings> byToken = new ConcurrentSkipListMap<>();
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        List<Long> search(List<String> prefixes, EventStatus status, Long sportTypeId, int limit) {
+            List<Postings> driver = null;
+            long driverSize = Long.MAX_VALUE;
+            for (String prefix : prefixes) {
+                List<Postings> matching = new ArrayList<>();
+                long size = 0;
+                for (Postings postings : byToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    matching.add(postings);
+                    size += postings.snapshot().size();
+                    if (size >= driverSize) {
+                        break;
+                    }
+                }
+                if (size < driverSize) {
+                    driver = matching;
+                    driverSize = size;
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, (int) Math.min(driverSize, Integer.MAX_VALUE)));
+            IdCursor cursor = IdCursor.over(driver);
+            long previous = Long.MIN_VALUE;
+            while (ids.size() < limit && cursor.hasNext()) {
+                long id = cursor.next();
+                if (id == previous) {
+                    // Names with several tokens sharing the prefix are listed under each of them
+                    continue;
+                }
+                previous = id;
+                Entry entry = entries.get(id);
+                if (entry != null && matches(entry, prefixes, status, sportTypeId)) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        void add(SportEvent event) {
+            long id = event.getId();
+            long version = event.getVersion() != null ? event.getVersion() : 0;
+            // Names do not change, so an event already indexed only needs its filtered attributes updated
+            if (entries.computeIfPresent(id, (ignored, current) -> updated(current, event, version)) != null) {
+                return;
+            }
+            List<String> tokens = tokenize(event.getName());
+            String[] shared = new String[tokens.size()];
+            List<Postings> postings = new ArrayList<>(tokens.size());
+            for (int i = 0; i < shared.length; i++) {
+                Postings ofToken = byToken.computeIfAbsent(tokens.get(i), Postings::new);
+                shared[i] = ofToken.token;
+                postings.add(ofToken);
+            }
+            Entry added = new Entry(shared, event.getSportTypeId(), event.getStatus(), version);
+            if (entries.merge(id, added, (current, ignored) -> updated(current, event, version)) == added) {
+                postings.forEach(ofToken -> ofToken.add(id));
+            }
+        }
+    }
+
+    /**
+     * Sorted IDs of the events containing a token. Appends write past the end of the published
+     * snapshot and inserts out of order copy the array, so readers never need a lock.
+     */
+    private static final class Postings {
+
+        private final String token;
+        private volatile Snapshot snapshot = new Snapshot(new long[2], 0);
+
+        Postings(String token) {
+            this.token = token;
+        }
+
+        Snapshot snapshot() {
+            return snapshot;
+        }
+
+        synchronized void add(long id) {
+            long[] ids = snapshot.ids();
+            int size = snapshot.size();
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                int at = -found - 1;
+                long[] copy = new long[Math.max(ids.length, size + 1)];
+                System.arraycopy(ids, 0, copy, 0, at);
+                copy[at] = id;
+                System.arraycopy(ids, at, copy, at + 1, size - at);
+                snapshot = new Snapshot(copy, size + 1);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            snapshot = new Snapshot(ids, size + 1);
+        }
+    }
+
+    private record Snapshot(long[] ids, int size) {
+    }
+
+    /**
+     * Walks the IDs of several postings in ascending order, with a k-way merge when there is more
+     * than one.
+     */
+    private static final class IdCursor {
+
+        private final PriorityQueue<long[]> heads = new PriorityQueue<>(Comparator.comparingLong(head -> head[0]));
+        private final List<Snapshot> snapshots;
+
+        private IdCursor(List<Snapshot> snapshots) {
+            this.snapshots = snapshots;
+            for (int i = 0; i < snapshots.size(); i++) {
+                if (snapshots.get(i).size() > 0) {
+                    heads.add(new long[]{snapshots.get(i).ids()[0], i, 0});
+                }
+            }
+        }
+
+        static IdCursor over(Collection<Postings> postings) {
+            return new IdCursor(postings.stream().map(Postings::snapshot).toList());
+        }
+
+        boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        long next() {
+            long[] head = heads.poll();
+            long id = head[0];
+            Snapshot snapshot = snapshots.get((int) head[1]);
+            int position = (int) head[2] + 1;
+            if (position < snapshot.size()) {
+                head[0] = snapshot.ids()[position];
+                head[2] = position;
+                heads.add(head);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.StatsProperties;
+import com.sportevents.api.dto.EventCount;
+import com.sportevents.api.dto.EventStats;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Event counts per sport type and status, kept in memory so that reading them costs one pass over
+ * the sport types rather than a scan of sport_events. The counts are taken with a scan of the
+ * events once the application is ready and then updated from {@link SportEventChange} events with
+ * {@link LongAdder}s, which writers on different threads can bump without contending. Until the
+ * first scan completes, counts are read with a GROUP BY.
+ * <p>
+ * The counts are recounted every {@link StatsProperties#resyncInterval()} to pick up writes of other
+ * instances. A recount fills a fresh set of counters and replaces the current set once complete,
+ * so reads never see a partial count. A change is published after its write commits, so the scan
+ * may already have read the row it changed; the version of every row scanned is therefore kept
+ * with the counters, and a change is only applied if it is newer than the version the scan read.
+ * Changes made during a recount are buffered and checked against the scan once it completes. This
+ * costs 16 bytes per event, held twice while a recount runs, and a recount of a million events
+ * takes a few seconds.
+ * <p>
+ * Counts are never published below zero, whatever the order in which changes arrive.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EventStatistics {
+
+    private final SportEventRepository eventRepository;
+    private final StatsProperties properties;
+
+    private final AtomicBoolean seeding = new AtomicBoolean();
+    private volatile Recount current = Recount.empty();
+    private volatile Recount recount;
+    private volatile boolean seeded;
+
+    private Disposable resync;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // The first count runs in the background as well; stats are counted in the database until it completes
+        resync = Flux.interval(Duration.ZERO, properties.resyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> seed()
+                        .onErrorResume(ex -> {
+                            log.error("Failed to recount event statistics", ex);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (resync != null) {
+            resync.dispose();
+        }
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        // Read the recount before current: once a recount completes current is swapped in before the
+        // recount is cleared, so a change is never applied only to the counters being dropped
+        Recount pending = recount;
+        Recount counted = current;
+        if (change.type() == SportEventChange.Type.STATUS_CHANGED && change.previousStatus() == null) {
+            log.warn("Status of event {} changed from an unknown status, recounting statistics", change.event().getId());
+            seed().subscribe();
+            return;
+        }
+        counted.applyIfNewer(change);
+        if (pending != null && pending != counted && !pending.offer(change)) {
+            // Completed since it was read, so its counters are about to replace the ones just updated
+            pending.applyIfNewer(change);
+        }
+    }
+
+    /**
+     * Returns the current counts. Before the counts are seeded they are read from the database.
+     */
+    public Mono<EventStats> stats() {
+        if (seeded) {
+            return Mono.fromSupplier(() -> current.counters.toStats());
+        }
+        return eventRepository.countBySportTypeAndStatus()
+                .collect(Counters::new, Counters::add)
+                .map(Counters::toStats);
+    }
+
+    Mono<Void> seed() {
+        return Mono.defer(() -> {
+            if (!seeding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            Recount fresh = new Recount();
+            recount = fresh;
+            return eventRepository.streamStatuses()
+                    .doOnNext(fresh::count)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        fresh.complete();
+                        current = fresh;
+                        seeded = true;
+                    })
+                    .doFinally(signal -> {
+                        recount = null;
+                        seeding.set(false);
+                    });
+        });
+    }
+
+    private static void apply(Counters counters, SportEventChange change) {
+        Long sportTypeId = change.event().getSportTypeId();
+        if (change.type() == SportEventChange.Type.STATUS_CHANGED) {
+            counters.adder(sportTypeId, change.previousStatus()).decrement();
+        }
+        counters.adder(sportTypeId, change.event().getStatus()).increment();
+    }
+
+    /**
+     * Counters filled by one scan of the events, with the version of every event the scan read, and
+     * the changes made while the scan runs.
+     */
+    private static final class Recount {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Counters counters = new Counters();
+        // IDs in ascending order, as the scan returns them, and the version read for each
+        private long[] ids;
+        private long[] versions;
+        private int scanned;
+        private List<SportEventChange> changes = new ArrayList<>();
+        private boolean completed;
+
+        Recount() {
+            this(INITIAL_CAPACITY);
+        }
+
+        private Recount(int capacity) {
+            ids = new long[capacity];
+            versions = new long[capacity];
+        }
+
+        static Recount empty() {
+            Recount empty = new Recount(0);
+            empty.complete();
+            return empty;
+        }
+
+        /**
+         * Buffers a change until the scan completes. Returns false if it already has.
+         */
+        synchronized boolean offer(SportEventChange change) {
+            if (completed) {
+                return false;
+            }
+            changes.add(change);
+            return true;
+        }
+
+        void count(SportEvent event) {
+            counters.adder(event.getSportTypeId(), event.getStatus()).increment();
+            if (scanned == ids.length) {
+                ids = Arrays.copyOf(ids, scanned * 2);
+                versions = Arrays.copyOf(versions, scanned * 2);
+            }
+            ids[scanned] = event.getId();
+            versions[scanned] = event.getVersion() != null ? event.getVersion() : -1;
+            scanned++;
+        }
+
+        synchronized void complete() {
+            completed = true;
+            changes.forEach(this::applyIfNewer);
+            changes = null;
+        }
+
+        /**
+         * Applies a change unless the scan already read its version of the event or a later one.
+         */
+        void applyIfNewer(SportEventChange change) {
+            Long version = change.event().getVersion();
+            int found = version != null ? Arrays.binarySearch(ids, 0, scanned, change.event().getId()) : -1;
+            if (found < 0 || versions[found] < version) {
+                apply(counters, change);
+            }
+        }
+    }
+
+    private static final class Counters {
+
+        private static final EventStatus[] STATUSES = EventStatus.values();
+
+        private final Map<Long, LongAdder[]> bySportType = new ConcurrentHashMap<>();
+
+        LongAdder adder(Long sportTypeId, EventStatus status) {
+            return bySportType.computeIfAbsent(sportTypeId, id -> {
+                LongAdder[] adders = new LongAdder[STATUSES.length];
+                for (int i = 0; i < adders.length; i++) {
+                    adders[i] = new LongAdder();
+                }
+                return adders;
+            })[status.ordinal()];
+        }
+
+        void add(EventCount count) {
+            adder(count.sportTypeId(), count.status()).add(count.count());
+        }
+
+        EventStats toStats() {
+            Map<EventStatus, Long> byStatus = zeroCounts();
+            List<EventStats.SportTypeStats> sportTypes = new ArrayList<>(bySportType.size());
+            long total = 0;
+            for (Map.Entry<Long, LongAdder[]> entry : bySportType.entrySet()) {
+                Map<EventStatus, Long> counts = zeroCounts();
+                long sportTypeTotal = 0;
+                for (EventStatus status : STATUSES) {
+                    // Changes applied out of order can briefly take a count below zero
+                    long count = Math.max(entry.getValue()[status.ordinal()].sum(), 0);
+                    counts.put(status, count);
+                    byStatus.merge(status, count, Long::sum);
+                    sportTypeTotal += count;
+                }
+                sportTypes.add(new EventStats.SportTypeStats(entry.getKey(), sportTypeTotal, counts));
+                total += sportTypeTotal;
+            }
+            sportTypes.sort(Comparator.comparing(EventStats.SportTypeStats::sportTypeId));
+            return new EventStats(total, byStatus, sportTypes);
+        }
+
+        private static Map<EventStatus, Long> zeroCounts() {
+            Map<EventStatus, Long> counts = new EnumMap<>(EventStatus.class);
+            for (EventStatus status : STATUSES) {
+                counts.put(status, 0L);
+            }
+            return counts;
+        }
+    }
+}
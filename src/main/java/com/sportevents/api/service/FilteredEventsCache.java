@@ -0,0 +1,100 @@
+package com.sportevents.api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportevents.api.config.EventCacheProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Materialized results of {@link SportEventService#filterEvents}, keyed by the filter and bounded
+ * by the total number of events held. A change invalidates only the listings the event appears in
+ * before and after the change.
+ * <p>
+ * Entries are futures, so every request for a listing that is being loaded waits for the same
+ * query: a burst of requests right after an invalidation reads the database once.
+ * <p>
+ * A load reads at most {@link EventCacheProperties#maxEvents()} events. A listing with more is not
+ * held in memory: the entry only records that it is too large, and every request for it streams
+ * its own query as if the cache were disabled.
+ */
+@Component
+public class FilteredEventsCache {
+
+    static final String CACHE_NAME = "filteredEvents";
+
+    // Compared by identity, so it cannot be confused with an empty listing
+    private static final List<SportEventDto> TOO_LARGE = Collections.unmodifiableList(new ArrayList<>());
+
+    private final EventCacheProperties properties;
+    private final AsyncCache<EventFilter, List<SportEventDto>> cache;
+
+    public FilteredEventsCache(EventCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxEvents())
+                .weigher((EventFilter key, List<SportEventDto> events) -> Math.max(events.size(), 1))
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached listing for the filter, loading it with {@code loader} when it is missing.
+     * When the cache is disabled the loader's result is returned as it is.
+     */
+    public Flux<SportEventDto> get(EventStatus status, Long sportTypeId, Supplier<Flux<SportEventDto>> loader) {
+        if (!properties.enabled()) {
+            return loader.get();
+        }
+        // The load is shared, so a subscriber that cancels must not cancel it for the others
+        return Mono.fromFuture(() -> cache.get(new EventFilter(status, sportTypeId),
+                        (key, executor) -> load(loader).toFuture()),
+                        true)
+                .flatMapMany(events -> events == TOO_LARGE ? loader.get() : Flux.fromIterable(events));
+    }
+
+    private Mono<List<SportEventDto>> load(Supplier<Flux<SportEventDto>> loader) {
+        return loader.get()
+                .take(properties.maxEvents() + 1)
+                .collectList()
+                .map(events -> events.size() > properties.maxEvents() ? TOO_LARGE : List.copyOf(events));
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        SportEvent event = change.event();
+        List<EventStatus> statuses = new ArrayList<>(Arrays.asList(null, event.getStatus(), change.previousStatus()));
+        if (change.type() == SportEventChange.Type.STATUS_CHANGED && change.previousStatus() == null) {
+            // The listing the event left is unknown
+            statuses.addAll(Arrays.asList(EventStatus.values()));
+        }
+        Set<EventFilter> affected = new HashSet<>();
+        for (EventStatus status : statuses) {
+            for (Long sportTypeId : Arrays.asList(null, event.getSportTypeId())) {
+                affected.add(new EventFilter(status, sportTypeId));
+            }
+        }
+        cache.synchronous().invalidateAll(affected);
+    }
+
+    long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
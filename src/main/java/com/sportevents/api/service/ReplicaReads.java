@@ -0,0 +1,79 @@
+package com.sportevents.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportevents.api.config.ReadWriteRoutingConnectionFactory;
+import com.sportevents.api.config.ReplicaProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks read-only queries to run on the replica, see {@link ReadWriteRoutingConnectionFactory}.
+ * <p>
+ * A query stays on the primary if a write it could observe was made by this instance within
+ * {@link ReplicaProperties#readYourWritesWindow()}: for a lookup a write to the same event, for a
+ * listing any write to events or sport types respectively. A client therefore reads its own writes
+ * even when the replica lags behind.
+ */
+@Component
+public class ReplicaReads {
+
+    private final ReplicaProperties properties;
+    private final long windowNanos;
+    private final Cache<Long, Boolean> recentlyWrittenEvents;
+    private volatile long eventsWrittenAt;
+    private volatile long sportTypesWrittenAt;
+
+    public ReplicaReads(ReplicaProperties properties) {
+        this.properties = properties;
+        this.windowNanos = properties.readYourWritesWindow().toNanos();
+        this.recentlyWrittenEvents = Caffeine.newBuilder()
+                .expireAfterWrite(properties.readYourWritesWindow())
+                .build();
+        long longAgo = System.nanoTime() - windowNanos - 1;
+        this.eventsWrittenAt = longAgo;
+        this.sportTypesWrittenAt = longAgo;
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        if (properties.enabled() && windowNanos > 0) {
+            recentlyWrittenEvents.put(change.event().getId(), Boolean.TRUE);
+            eventsWrittenAt = System.nanoTime();
+        }
+    }
+
+    public void sportTypeCreated() {
+        sportTypesWrittenAt = System.nanoTime();
+    }
+
+    public <T> Mono<T> event(Long id, Mono<T> query) {
+        return Mono.defer(() -> recentlyWrittenEvents.getIfPresent(id) != null ? query : onReplica(query));
+    }
+
+    public <T> Flux<T> events(Flux<T> query) {
+        return Flux.defer(() -> isRecent(eventsWrittenAt) ? query : onReplica(query));
+    }
+
+    public <T> Mono<T> sportType(Mono<T> query) {
+        return Mono.defer(() -> isRecent(sportTypesWrittenAt) ? query : onReplica(query));
+    }
+
+    public <T> Flux<T> sportTypes(Flux<T> query) {
+        return Flux.defer(() -> isRecent(sportTypesWrittenAt) ? query : onReplica(query));
+    }
+
+    private boolean isRecent(long writtenAt) {
+        return System.nanoTime() - writtenAt <= windowNanos;
+    }
+
+    private <T> Mono<T> onReplica(Mono<T> query) {
+        return properties.enabled() ? ReadWriteRoutingConnectionFactory.onReplica(query) : query;
+    }
+
+    private <T> Flux<T> onReplica(Flux<T> query) {
+        return properties.enabled() ? ReadWriteRoutingConnectionFactory.onReplica(query) : query;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sportevents.api.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight, further subscribers
+ * for that key join it instead of starting their own, and all of them receive the same result,
+ * completion or error. The key is released as soon as the call terminates, so nothing is cached
+ * beyond the lifetime of the call.
+ * <p>
+ * Only calls with at most one result are coalesced. A subscriber joining late gets what the call
+ * already emitted, which for a streaming listing would mean holding every row until it completes.
+ * <p>
+ * A subscriber that cancels only leaves the call; the call itself is cancelled once every
+ * subscriber has left.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flux<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> mono(K key, Supplier<? extends Mono<V>> call) {
+        return Flux.defer(() -> inFlight.computeIfAbsent(key, ignored -> share(key, call))).singleOrEmpty();
+    }
+
+    /**
+     * Makes later calls for {@code key} start a new call instead of joining the one in flight, which
+     * may have read data that is now stale. Subscribers already in the call are not affected.
+     */
+    public void release(K key) {
+        inFlight.remove(key);
+    }
+
+    private Flux<V> share(K key, Supplier<? extends Mono<V>> call) {
+        AtomicReference<Flux<V>> shared = new AtomicReference<>();
+        shared.set(Flux.defer(call)
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .replay()
+                .refCount());
+        return shared.get();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+
+/**
+ * Application event published after an event was created or changed status, so that in-process
+ * consumers can react to writes without the write paths knowing about them. {@code event} is the
+ * state after the change and must not be modified by listeners.
+ */
+public record SportEventChange(Type type, SportEvent event, EventStatus previousStatus) {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    public static SportEventChange created(SportEvent event) {
+        return new SportEventChange(Type.CREATED, event, null);
+    }
+
+    public static SportEventChange statusChanged(SportEvent event, EventStatus previousStatus) {
+        return new SportEventChange(Type.STATUS_CHANGED, event, previousStatus);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportevents.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportevents.api.config.ChangeFeedProperties;
+import com.sportevents.api.model.EventStatus;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Locale;
+
+/**
+ * Broadcasts {@link SportEventChange}s to Server-Sent Events subscribers.
+ * <p>
+ * Every change is rendered to JSON once and pushed into a single multicast sink, so the cost of a
+ * change does not depend on the number of subscribers and an idle subscriber holds no more than
+ * its connection and an empty buffer. Each subscriber gets a buffer of
+ * {@link ChangeFeedProperties#bufferSize()} changes; a subscriber that falls further behind receives
+ * a {@value #RESYNC_EVENT} event and its stream ends, so the client reconnects and reloads its state
+ * instead of silently missing changes.
+ */
+@Log4j2
+@Component
+public class SportEventChangeFeed {
+
+    static final String RESYNC_EVENT = "resync";
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final ChangeFeedProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Sinks.Many<FeedItem> sink = Sinks.many().multicast().directBestEffort();
+    private final Flux<ServerSentEvent<String>> heartbeats;
+
+    private record FeedItem(EventStatus status, Long sportTypeId, ServerSentEvent<String> event) {
+    }
+
+    public SportEventChangeFeed(ChangeFeedProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.heartbeats = Flux.interval(properties.heartbeatInterval())
+                .map(tick -> ServerSentEvent.<String>builder().comment(HEARTBEAT_COMMENT).build())
+                .share();
+    }
+
+    @EventListener
+    public void onChange(SportEventChange change) {
+        if (sink.currentSubscriberCount() == 0) {
+            return;
+        }
+        FeedItem item;
+        try {
+            item = new FeedItem(change.event().getStatus(), change.event().getSportTypeId(),
+                    ServerSentEvent.builder(objectMapper.writeValueAsString(change))
+                            .id(String.valueOf(change.event().getId()))
+                            .event(change.type().name().toLowerCase(Locale.ROOT))
+                            .build());
+        } catch (JsonProcessingException ex) {
+            log.error("Failed to serialize change of event {}", change.event().getId(), ex);
+            return;
+        }
+        // Changes are published from many threads; the sink needs serialized emissions
+        synchronized (sink) {
+            sink.tryEmitNext(item);
+        }
+    }
+
+    /**
+     * Streams changes of events that are in {@code status} and of {@code sportTypeId} after the
+     * change, either of which may be null to not filter on it.
+     */
+    public Flux<ServerSentEvent<String>> changes(EventStatus status, Long sportTypeId) {
+        Flux<ServerSentEvent<String>> changes = sink.asFlux()
+                .filter(item -> status == null || item.status() == status)
+                .filter(item -> sportTypeId == null || sportTypeId.equals(item.sportTypeId()))
+                .map(FeedItem::event)
+                .onBackpressureBuffer(properties.bufferSize(), BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, ex -> {
+                    log.warn("Change feed subscriber fell more than {} changes behind, requesting resync",
+                            properties.bufferSize());
+                    return Mono.just(ServerSentEvent.<String>builder()
+                            .event(RESYNC_EVENT)
+                            .data(RESYNC_EVENT)
+                            .build());
+                });
+        // A prefetch of 1 keeps the merge from buffering changes on top of the subscriber's buffer
+        return Flux.merge(1, changes, heartbeats)
+                .takeUntil(event -> RESYNC_EVENT.equals(event.event()));
+    }
+
+    int subscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+}
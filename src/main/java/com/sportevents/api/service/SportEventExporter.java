@@ -0,0 +1,154 @@
+package com.sportevents.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportevents.api.config.ExportProperties;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import com.sportevents.api.repository.SportTypeRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams events for bulk export without building them into a response body first. Rows come
+ * straight from a database cursor and are encoded, {@link ExportProperties#rowsPerBuffer()} at a
+ * time, into buffers taken from the response's buffer factory, which are released once written.
+ * As the cursor is only read as fast as the client takes the buffers, memory use does not depend
+ * on the number of events exported. Sport type names are resolved from a single query up front.
+ */
+@RequiredArgsConstructor
+@Component
+public class SportEventExporter {
+
+    private static final String CSV_HEADER = "id,name,sport_type_id,sport_type_name,status,start_time,version\n";
+    private static final int ESTIMATED_ROW_BYTES = 128;
+
+    private final SportEventRepository repository;
+    private final SportTypeRepository typeRepository;
+    private final ReplicaReads replicaReads;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String fileExtension;
+    }
+
+    /**
+     * Exports the events starting within {@code [startTimeFrom, startTimeTo)} in ID order; either
+     * bound may be omitted. CSV output starts with a header line.
+     */
+    public Flux<DataBuffer> export(Format format, LocalDateTime startTimeFrom, LocalDateTime startTimeTo,
+                                   DataBufferFactory bufferFactory) {
+        Flux<DataBuffer> rows = replicaReads.sportTypes(typeRepository.findAll())
+                .collectMap(SportType::getId, SportType::getName)
+                .flatMapMany(sportTypeNames -> replicaReads.events(
+                                repository.streamForExport(startTimeFrom, startTimeTo, properties.fetchSize()))
+                        .buffer(properties.rowsPerBuffer())
+                        .map(chunk -> encode(format, chunk, sportTypeNames, bufferFactory)));
+        Flux<DataBuffer> export = format == Format.CSV
+                ? Mono.fromSupplier(() -> bufferFactory.wrap(CSV_HEADER.getBytes(StandardCharsets.UTF_8))).concatWith(rows)
+                : rows;
+        return export.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private DataBuffer encode(Format format, List<SportEvent> chunk, Map<Long, String> sportTypeNames,
+                              DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(chunk.size() * ESTIMATED_ROW_BYTES);
+        try {
+            OutputStream out = buffer.asOutputStream();
+            if (format == Format.CSV) {
+                writeCsvLines(chunk, sportTypeNames, out);
+            } else {
+                writeJsonLines(chunk, sportTypeNames, out);
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes each event as one line shaped like the events of {@code GET /api/events}, directly with
+     * the generator instead of mapping rows to DTOs first.
+     */
+    private void writeJsonLines(List<SportEvent> chunk, Map<Long, String> sportTypeNames, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (SportEvent event : chunk) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", event.getId());
+                generator.writeStringField("name", event.getName());
+                generator.writeObjectFieldStart("sportType");
+                generator.writeNumberField("id", event.getSportTypeId());
+                generator.writeStringField("name", sportTypeNames.get(event.getSportTypeId()));
+                generator.writeEndObject();
+                generator.writeStringField("status", event.getStatus().name());
+                generator.writeStringField("startTime", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(event.getStartTime()));
+                generator.writeNumberField("version", event.getVersion());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeCsvLines(List<SportEvent> chunk, Map<Long, String> sportTypeNames, OutputStream out)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        for (SportEvent event : chunk) {
+            writer.append(String.valueOf(event.getId())).append(',');
+            writeCsvField(writer, event.getName());
+            writer.append(',').append(String.valueOf(event.getSportTypeId())).append(',');
+            writeCsvField(writer, sportTypeNames.get(event.getSportTypeId()));
+            writer.append(',').append(event.getStatus().name())
+                    .append(',').append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(event.getStartTime()))
+                    .append(',').append(String.valueOf(event.getVersion()))
+                    .append('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Quotes a field as RFC 4180 requires when it contains a separator, quote or line break.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.append(value);
+            return;
+        }
+        writer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
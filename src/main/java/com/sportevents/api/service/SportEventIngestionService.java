@@ -0,0 +1,105 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.IngestionProperties;
+import com.sportevents.api.dto.EventBatchItemResult;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates events in bulk. Incoming events are processed in chunks of
+ * {@link IngestionProperties#batchSize()}: each chunk resolves its sport types with at most one
+ * query, applies the same rules as {@link SportEventService#createEvent(SportEvent)} and writes the
+ * valid events with a single INSERT.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class SportEventIngestionService {
+
+    private final SportEventRepository eventRepository;
+    private final SportTypeCache sportTypeCache;
+    private final Validator validator;
+    private final IngestionProperties ingestionProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Flux<EventBatchItemResult> createEvents(Flux<SportEvent> events) {
+        return events.index()
+                .buffer(ingestionProperties.batchSize())
+                .concatMap(this::createChunk);
+    }
+
+    private Flux<EventBatchItemResult> createChunk(List<Tuple2<Long, SportEvent>> chunk) {
+        Set<Long> sportTypeIds = chunk.stream()
+                .map(item -> item.getT2().getSportTypeId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return sportTypeCache.getAll(sportTypeIds)
+                .flatMapMany(sportTypes -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    List<EventBatchItemResult> rejected = new ArrayList<>();
+                    List<Tuple2<Long, SportEvent>> accepted = new ArrayList<>();
+                    for (Tuple2<Long, SportEvent> item : chunk) {
+                        String violation = findViolation(item.getT2(), sportTypes, now);
+                        if (violation != null) {
+                            rejected.add(EventBatchItemResult.rejected(item.getT1(), violation));
+                        } else {
+                            item.getT2().setStatus(EventStatus.INACTIVE);
+                            accepted.add(item);
+                        }
+                    }
+                    return insert(accepted)
+                            .concatWith(Flux.fromIterable(rejected))
+                            .sort(Comparator.comparingLong(EventBatchItemResult::index));
+                });
+    }
+
+    private Flux<EventBatchItemResult> insert(List<Tuple2<Long, SportEvent>> accepted) {
+        List<SportEvent> events = accepted.stream().map(Tuple2::getT2).toList();
+        return eventRepository.insertAll(events)
+                .doOnNext(saved -> eventPublisher.publishEvent(SportEventChange.created(saved)))
+                .zipWithIterable(accepted, (saved, item) -> EventBatchItemResult.created(item.getT1(), saved.getId()))
+                .doOnComplete(() -> log.debug("Inserted batch of {} events", events.size()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to insert batch of {} events", events.size(), ex);
+                    return Flux.fromIterable(accepted)
+                            .map(item -> EventBatchItemResult.rejected(item.getT1(), "Insert failed: " + ex.getMessage()));
+                });
+    }
+
+    private String findViolation(SportEvent event, Map<Long, SportType> sportTypes, LocalDateTime now) {
+        Set<ConstraintViolation<SportEvent>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (event.getStartTime().isBefore(now)) {
+            return SportEventService.PAST_START_TIME_MESSAGE;
+        }
+        if (!sportTypes.containsKey(event.getSportTypeId())) {
+            return SportEventService.INVALID_SPORT_TYPE_MESSAGE + event.getSportTypeId();
+        }
+        return null;
+    }
+}
@@ -1,101 +1,327 @@
 package com.sportevents.api.service;
 
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.config.PagingProperties;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.BulkStatusUpdateResult;
+import com.sportevents.api.dto.EventCursor;
 import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.dto.SportEventPage;
+import com.sportevents.api.exception.ConflictException;
 import com.sportevents.api.exception.ResourceNotFoundException;
 import com.sportevents.api.model.EventStatus;
 import com.sportevents.api.model.SportEvent;
 import com.sportevents.api.repository.SportEventRepository;
-import com.sportevents.api.repository.SportTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Log4j2
 @RequiredArgsConstructor
 @Service
 public class SportEventService {
 
+    static final String PAST_START_TIME_MESSAGE = "Start time cannot be in the past";
+    static final String INVALID_SPORT_TYPE_MESSAGE = "Invalid sport type ID: ";
+    static final String REJECTED_TRANSITIONS_METRIC = "event.status.transitions.rejected";
+
     private final SportEventRepository eventRepository;
-    private final SportTypeRepository typeRepository;
+    private final SportTypeCache sportTypeCache;
+    private final FilteredEventsCache filteredEventsCache;
+    private final EventReadModel readModel;
+    private final SportTypeBatchLoader sportTypeBatchLoader;
+    private final ReplicaReads replicaReads;
+    private final EventSearchIndex searchIndex;
+    private final PagingProperties pagingProperties;
+    private final ListingProperties listingProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<Long, SportEventDto> eventLookups = new SingleFlight<>();
 
     public Mono<SportEvent> createEvent(@Valid SportEvent event) {
         log.debug("Validating event start time: {}", event.getStartTime());
         return ensureFutureStartTime(event.getStartTime())
                 .doOnSuccess(ignored -> log.debug("Validation passed for start time: {}", event.getStartTime()))
-                .then(typeRepository.findById(event.getSportTypeId())
-                        .switchIfEmpty(Mono.error(new IllegalArgumentException("Invalid sport type ID: " + event.getSportTypeId()))))
+                .then(sportTypeCache.get(event.getSportTypeId())
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException(INVALID_SPORT_TYPE_MESSAGE + event.getSportTypeId()))))
                 .flatMap(sportType -> {
                     event.setStatus(EventStatus.INACTIVE);
                     log.debug("Setting event status to INACTIVE for event: {}", event);
                     return eventRepository.save(event);
                 })
-                .doOnSuccess(savedEvent -> log.info("Successfully created event: {}", savedEvent));
+                .doOnNext(savedEvent -> eventPublisher.publishEvent(SportEventChange.created(savedEvent)))
+                .doOnSuccess(savedEvent -> log.debug("Successfully created event: {}", savedEvent));
     }
 
 
+    /**
+     * Lists the events matching the optional filters. Once the {@link EventReadModel} is loaded they
+     * are read from it, otherwise from {@link FilteredEventsCache} when it is enabled.
+     * <p>
+     * Concurrent identical listings share the cache's load when it is enabled. Otherwise each listing
+     * streams its own query: sharing one would hold every row for subscribers that join late.
+     */
     public Flux<SportEventDto> filterEvents(EventStatus status, Long sportTypeId) {
+        return Flux.defer(() -> {
+            if (readModel.isReady()) {
+                return Flux.fromIterable(readModel.filter(status, sportTypeId));
+            }
+            return filteredEventsCache.get(status, sportTypeId, () -> queryEvents(status, sportTypeId));
+        });
+    }
+
+    /**
+     * A lookup that started before a write must not be joined by requests made after it, or a client
+     * could miss its own write.
+     */
+    @EventListener
+    public void onChange(SportEventChange change) {
+        eventLookups.release(change.event().getId());
+    }
+
+    /**
+     * Sport types are joined in or loaded in batches depending on {@link ListingProperties#sportTypes()}.
+     */
+    private Flux<SportEventDto> queryEvents(EventStatus status, Long sportTypeId) {
+        return replicaReads.events(listingProperties.sportTypes() == ListingProperties.SportTypeResolution.BATCH
+                ? sportTypeBatchLoader.toDtos(findEvents(status, sportTypeId))
+                : findEventsWithSportType(status, sportTypeId));
+    }
+
+    private Flux<SportEventDto> findEventsWithSportType(EventStatus status, Long sportTypeId) {
+        return Optional.ofNullable(status)
+                .map(stat -> Optional.ofNullable(sportTypeId)
+                        .map(typeId -> eventRepository.findByStatusAndSportTypeIdWithSportType(stat, typeId))
+                        .orElse(eventRepository.findByStatusWithSportType(stat)))
+                .orElseGet(() -> Optional.ofNullable(sportTypeId)
+                        .map(eventRepository::findBySportTypeIdWithSportType)
+                        .orElse(eventRepository.findAllWithSportType()));
+    }
+
+    private Flux<SportEvent> findEvents(EventStatus status, Long sportTypeId) {
         return Optional.ofNullable(status)
                 .map(stat -> Optional.ofNullable(sportTypeId)
                         .map(typeId -> eventRepository.findByStatusAndSportTypeId(stat, typeId))
-                        .orElse(eventRepository.findByStatus(stat)))
+                        .orElseGet(() -> eventRepository.findByStatus(stat)))
                 .orElseGet(() -> Optional.ofNullable(sportTypeId)
                         .map(eventRepository::findBySportTypeId)
-                        .orElse(eventRepository.findAll()))
-                .flatMap(this::mapToDto);
+                        .orElseGet(eventRepository::findAll));
+    }
+
+    /**
+     * Returns one page of events ordered by start time. Pages are read with a keyset query, so the
+     * cost of a page does not grow with how deep into the listing it is.
+     */
+    public Mono<SportEventPage> findEventsPage(EventStatus status, Long sportTypeId, Integer limit, String after) {
+        return Mono.defer(() -> {
+            int pageSize = Math.min(Optional.ofNullable(limit).orElse(pagingProperties.defaultLimit()),
+                    pagingProperties.maxLimit());
+            if (pageSize < 1) {
+                return Mono.error(new IllegalArgumentException("Limit must be greater than zero"));
+            }
+            EventCursor cursor = Optional.ofNullable(after).map(EventCursor::decode).orElse(null);
+            return replicaReads.events(eventRepository.findPageWithSportType(status, sportTypeId, cursor, pageSize + 1))
+                    .collectList()
+                    .map(events -> events.size() > pageSize
+                            ? new SportEventPage(events.subList(0, pageSize),
+                            EventCursor.after(events.get(pageSize - 1)).encode())
+                            : new SportEventPage(events, null));
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} events, in ID order, whose name has a word starting with each word
+     * of {@code query}, optionally only those in {@code status} and of {@code sportTypeId}. Matches
+     * are found with the {@link EventSearchIndex} when it is built, and otherwise with a scan of the
+     * event names in the database; the events themselves come from the {@link EventReadModel} when
+     * it is loaded, and otherwise from one query by ID.
+     */
+    public Flux<SportEventDto> searchEvents(String query, EventStatus status, Long sportTypeId, Integer limit) {
+        return Flux.defer(() -> {
+            int resultSize = Math.min(Optional.ofNullable(limit).orElse(pagingProperties.defaultLimit()),
+                    pagingProperties.maxLimit());
+            if (resultSize < 1) {
+                return Flux.error(new IllegalArgumentException("Limit must be greater than zero"));
+            }
+            List<String> tokens = EventSearchIndex.tokenize(query);
+            if (tokens.isEmpty()) {
+                return Flux.error(new IllegalArgumentException("Search query must contain a letter or digit"));
+            }
+            Mono<List<Long>> matches = searchIndex.isReady()
+                    ? Mono.just(searchIndex.search(query, status, sportTypeId, resultSize))
+                    : replicaReads.events(eventRepository.searchIdsByName(tokens, status, sportTypeId, resultSize)).collectList();
+            return matches.flatMapMany(this::loadInOrder);
+        });
     }
 
+    private Flux<SportEventDto> loadInOrder(List<Long> ids) {
+        if (readModel.isReady()) {
+            return Flux.fromIterable(ids)
+                    .mapNotNull(readModel::findById);
+        }
+        return replicaReads.events(eventRepository.findAllByIdWithSportType(ids))
+                .collectMap(SportEventDto::id)
+                .flatMapIterable(found -> ids.stream()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    /**
+     * Returns the event from the {@link EventReadModel} when it is loaded and holds the event, and
+     * from the database otherwise. Concurrent lookups of the same event share one query.
+     */
     public Mono<SportEventDto> getEventById(Long id) {
-        return eventRepository.findById(id)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Event with ID %d not found".formatted(id))))
-                .flatMap(this::mapToDto);
+        return Mono.defer(() -> readModel.isReady() ? Mono.justOrEmpty(readModel.findById(id)) : Mono.empty())
+                .switchIfEmpty(eventLookups.mono(id, () -> replicaReads.event(id, eventRepository.findByIdWithSportType(id))))
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Event with ID %d not found".formatted(id))));
     }
 
     public Mono<SportEvent> updateEventStatus(Long id, EventStatus newStatus) {
+        return updateEventStatus(id, newStatus, null);
+    }
+
+    /**
+     * Changes the status with a single conditional UPDATE that encodes the transition rules. Only when
+     * the UPDATE matches no row is the event read again, to report why the transition was rejected.
+     * If {@code expectedStatus} is given the event must still be in that status, otherwise the
+     * request fails with a conflict.
+     */
+    public Mono<SportEvent> updateEventStatus(Long id, EventStatus newStatus, EventStatus expectedStatus) {
+        Set<EventStatus> fromStatuses = EnumSet.copyOf(newStatus.predecessors());
+        if (expectedStatus != null) {
+            fromStatuses.retainAll(Set.of(expectedStatus));
+        }
+        LocalDateTime notStartedBefore = newStatus == EventStatus.ACTIVE ? LocalDateTime.now() : null;
+        Mono<SportEvent> transition = fromStatuses.isEmpty()
+                ? Mono.empty()
+                : eventRepository.transitionStatus(id, newStatus, fromStatuses, notStartedBefore);
+        return transition
+                .doOnNext(updated -> eventPublisher.publishEvent(
+                        SportEventChange.statusChanged(updated, previousStatus(fromStatuses))))
+                .switchIfEmpty(Mono.defer(() -> rejectTransition(id, newStatus, expectedStatus)));
+    }
+
+    /**
+     * Moves all matching events to the requested status with one set-based UPDATE, then reads the
+     * matching events that did not move to report why each of them was rejected.
+     */
+    public Mono<BulkStatusUpdateResult> updateEventStatuses(BulkStatusUpdateRequest request) {
+        EventStatus newStatus = request.newStatus();
+        LocalDateTime notStartedBefore = newStatus == EventStatus.ACTIVE ? LocalDateTime.now() : null;
+        return eventRepository.transitionStatuses(request, newStatus.predecessors(), notStartedBefore)
+                .doOnNext(updated -> eventPublisher.publishEvent(
+                        SportEventChange.statusChanged(updated, previousStatus(newStatus.predecessors()))))
+                .map(SportEvent::getId)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .flatMap(updated -> eventRepository.findMatching(request)
+                        .filter(event -> !updated.contains(event.getId()))
+                        .collectList()
+                        .map(unchanged -> new BulkStatusUpdateResult(newStatus, List.copyOf(updated),
+                                rejections(request, updated, unchanged))))
+                .doOnSuccess(result -> log.debug("Bulk status update to {}: {} updated, {} rejected",
+                        newStatus, result.updated().size(), result.rejected().size()));
+    }
+
+    private List<BulkStatusUpdateResult.Rejection> rejections(BulkStatusUpdateRequest request, Set<Long> updated,
+                                                              List<SportEvent> unchanged) {
+        List<BulkStatusUpdateResult.Rejection> rejected = new ArrayList<>();
+        Set<Long> found = new HashSet<>(updated);
+        for (SportEvent event : unchanged) {
+            found.add(event.getId());
+            TransitionRejection rejection = Optional.ofNullable(findTransitionRejection(event, request.newStatus()))
+                    .orElse(TransitionRejection.CONCURRENT_MODIFICATION);
+            countRejection(rejection);
+            rejected.add(new BulkStatusUpdateResult.Rejection(event.getId(), rejection.message(request.newStatus())));
+        }
+        boolean filtered = request.sportTypeId() != null || request.startTimeFrom() != null || request.startTimeTo() != null;
+        Optional.ofNullable(request.ids()).orElse(List.of()).stream()
+                .filter(id -> !found.contains(id))
+                .distinct()
+                .map(id -> new BulkStatusUpdateResult.Rejection(id, filtered
+                        ? "Event with ID %d not found or does not match the filter".formatted(id)
+                        : "Event with ID %d not found".formatted(id)))
+                .forEach(rejected::add);
+        rejected.sort(Comparator.comparing(BulkStatusUpdateResult.Rejection::id));
+        return rejected;
+    }
+
+    /**
+     * Every status has a single predecessor, so the status an updated row had before the conditional
+     * UPDATE is known without reading it.
+     */
+    private static EventStatus previousStatus(Set<EventStatus> fromStatuses) {
+        return fromStatuses.size() == 1 ? fromStatuses.iterator().next() : null;
+    }
+
+    private Mono<SportEvent> rejectTransition(Long id, EventStatus newStatus, EventStatus expectedStatus) {
         return eventRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Event with ID %d not found".formatted(id))))
-                .flatMap(event -> validateAndTransitionStatus(event, newStatus)
-                        .flatMap(eventRepository::save));
+                .flatMap(current -> {
+                    if (expectedStatus != null && current.getStatus() != expectedStatus) {
+                        countRejection(TransitionRejection.STATUS_MISMATCH);
+                        return Mono.error(new ConflictException("Event with ID %d is %s, expected %s"
+                                .formatted(id, current.getStatus(), expectedStatus)));
+                    }
+                    // The rules pass now, so the status changed between the UPDATE and this read
+                    return validateAndTransitionStatus(current, newStatus)
+                            .doOnNext(ignored -> countRejection(TransitionRejection.CONCURRENT_MODIFICATION))
+                            .then(Mono.error(new ConflictException(
+                                    "Event with ID %d was modified concurrently".formatted(id))));
+                });
     }
 
     private Mono<Void> ensureFutureStartTime(LocalDateTime startTime) {
         return startTime.isBefore(LocalDateTime.now())
-                ? Mono.error(new IllegalArgumentException("Start time cannot be in the past"))
+                ? Mono.error(new IllegalArgumentException(PAST_START_TIME_MESSAGE))
                 : Mono.empty();
     }
 
-    private Mono<SportEvent> validateAndTransitionStatus(SportEvent event, EventStatus newStatus) {
+    Mono<SportEvent> validateAndTransitionStatus(SportEvent event, EventStatus newStatus) {
+        TransitionRejection rejection = findTransitionRejection(event, newStatus);
+        if (rejection != null) {
+            countRejection(rejection);
+            return Mono.error(rejection.toException(newStatus));
+        }
+        event.setStatus(newStatus);
+        return Mono.just(event);
+    }
+
+    static TransitionRejection findTransitionRejection(SportEvent event, EventStatus newStatus) {
         if (event.getStatus() == newStatus) {
-            return Mono.error(new IllegalArgumentException("Cannot update event status: Already %s".formatted(newStatus)));
+            return TransitionRejection.ALREADY_IN_STATUS;
         }
         if (event.getStatus() == EventStatus.FINISHED) {
-            return Mono.error(new IllegalStateException("Cannot update status: Event is already FINISHED"));
+            return TransitionRejection.EVENT_FINISHED;
         }
         if (event.getStatus() == EventStatus.INACTIVE && newStatus == EventStatus.FINISHED) {
-            return Mono.error(new IllegalStateException("Cannot transition from INACTIVE to FINISHED"));
+            return TransitionRejection.INACTIVE_TO_FINISHED;
         }
         if (newStatus == EventStatus.ACTIVE && event.getStartTime().isBefore(LocalDateTime.now())) {
-            return Mono.error(new IllegalStateException("Cannot activate event: Start time is in the past"));
+            return TransitionRejection.START_TIME_PASSED;
         }
-        event.setStatus(newStatus);
-        return Mono.just(event);
+        return null;
     }
 
-    private Mono<SportEventDto> mapToDto(SportEvent event) {
-        return typeRepository.findById(event.getSportTypeId())
-                .map(sportType -> {
-                    SportEventDto dto = new SportEventDto();
-                    dto.setId(event.getId());
-                    dto.setName(event.getName());
-                    dto.setSportType(sportType);
-                    dto.setStatus(event.getStatus());
-                    dto.setStartTime(event.getStartTime());
-                    return dto;
-                });
+    private void countRejection(TransitionRejection rejection) {
+        meterRegistry.counter(REJECTED_TRANSITIONS_METRIC, "reason", rejection.tag()).increment();
     }
 }
@@ -0,0 +1,67 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps events to {@link SportEventDto}s, resolving sport types per batch of events rather than per
+ * event. Events are grouped into batches of up to {@link ListingProperties#batchSize()} or whatever
+ * arrived within {@link ListingProperties#batchWindow()}, and the distinct sport types of a batch
+ * are read with one {@code WHERE id IN (...)} query. The number of queries thus follows the number
+ * of batches, and each query the number of distinct sport types, without keeping the sport type
+ * table in memory.
+ */
+@RequiredArgsConstructor
+@Component
+public class SportTypeBatchLoader {
+
+    private final SportTypeRepository typeRepository;
+    private final ListingProperties properties;
+
+    /**
+     * Returns the events as DTOs in their original order. Like the joined query, events whose sport
+     * type does not exist are left out.
+     */
+    public Flux<SportEventDto> toDtos(Flux<SportEvent> events) {
+        return events.bufferTimeout(properties.batchSize(), properties.batchWindow(), true)
+                .concatMap(batch -> typeRepository.findAllById(batch.stream()
+                                .map(SportEvent::getSportTypeId)
+                                .distinct()
+                                .toList())
+                        .map(SportTypeBatchLoader::embedded)
+                        .collectMap(SportType::getId)
+                        .flatMapIterable(sportTypes -> toDtos(batch, sportTypes)));
+    }
+
+    private static List<SportEventDto> toDtos(List<SportEvent> batch, Map<Long, SportType> sportTypes) {
+        return batch.stream()
+                .filter(event -> sportTypes.containsKey(event.getSportTypeId()))
+                .map(event -> new SportEventDto(
+                        event.getId(),
+                        event.getName(),
+                        sportTypes.get(event.getSportTypeId()),
+                        event.getStatus(),
+                        event.getStartTime(),
+                        event.getVersion()))
+                .toList();
+    }
+
+    /**
+     * The sport type as the joined query embeds it in an event, without its version.
+     */
+    private static SportType embedded(SportType sportType) {
+        SportType embedded = new SportType();
+        embedded.setId(sportType.getId());
+        embedded.setName(sportType.getName());
+        return embedded;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the sport_types table. There are only a few dozen sport types, so keeping
+ * all of them in memory lets event mapping resolve them without a query per row.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class SportTypeCache {
+
+    private final SportTypeRepository typeRepository;
+    private final Map<Long, SportType> sportTypes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh().block();
+    }
+
+    public Mono<Void> refresh() {
+        return typeRepository.findAll()
+                .doOnNext(this::put)
+                .count()
+                .doOnSuccess(count -> log.info("Loaded {} sport types into cache", count))
+                .then();
+    }
+
+    public void put(SportType sportType) {
+        sportTypes.put(sportType.getId(), sportType);
+    }
+
+    /**
+     * Returns the sport type if it is cached, without going to the database.
+     */
+    public Optional<SportType> getCached(Long id) {
+        return Optional.ofNullable(sportTypes.get(id));
+    }
+
+    /**
+     * Returns the cached sport type, falling back to the database for types created outside this
+     * application instance.
+     */
+    public Mono<SportType> get(Long id) {
+        SportType cached = sportTypes.get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return typeRepository.findById(id)
+                .doOnNext(sportType -> sportTypes.put(id, sportType));
+    }
+
+    /**
+     * Resolves several sport types at once. Types missing from the cache are loaded with a single
+     * query; IDs that do not exist are absent from the returned map.
+     */
+    public Mono<Map<Long, SportType>> getAll(Collection<Long> ids) {
+        Map<Long, SportType> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            SportType cached = sportTypes.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        return typeRepository.findAllById(missing)
+                .doOnNext(this::put)
+                .doOnNext(sportType -> found.put(sportType.getId(), sportType))
+                .then(Mono.fromSupplier(() -> found));
+    }
+}
@@ -0,0 +1,38 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.EventStatus;
+
+/**
+ * Reasons a status change is rejected. The first four are the lifecycle rules checked by
+ * {@link SportEventService#findTransitionRejection}; the others are conflicts with a concurrent
+ * change. The lower-case name is used as the {@code reason} tag of the rejection counter.
+ */
+enum TransitionRejection {
+    ALREADY_IN_STATUS,
+    EVENT_FINISHED,
+    INACTIVE_TO_FINISHED,
+    START_TIME_PASSED,
+    STATUS_MISMATCH,
+    CONCURRENT_MODIFICATION;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+
+    String message(EventStatus newStatus) {
+        return switch (this) {
+            case ALREADY_IN_STATUS -> "Cannot update event status: Already %s".formatted(newStatus);
+            case EVENT_FINISHED -> "Cannot update status: Event is already FINISHED";
+            case INACTIVE_TO_FINISHED -> "Cannot transition from INACTIVE to FINISHED";
+            case START_TIME_PASSED -> "Cannot activate event: Start time is in the past";
+            case STATUS_MISMATCH -> "Event status does not match the expected status";
+            case CONCURRENT_MODIFICATION -> "Event was modified concurrently";
+        };
+    }
+
+    RuntimeException toException(EventStatus newStatus) {
+        return this == ALREADY_IN_STATUS
+                ? new IllegalArgumentException(message(newStatus))
+                : new IllegalStateException(message(newStatus));
+    }
+}
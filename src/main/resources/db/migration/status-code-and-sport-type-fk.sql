@@ -0,0 +1,39 @@
+-- Migrates a sport_events table created by an earlier schema.sql, with status stored as the enum
+-- name in VARCHAR(255) and no foreign key, to the current schema. Run it once, while the
+-- application is stopped.
+--
+-- H2 commits every DDL statement on its own, so the script cannot be rolled back as a whole.
+-- Instead the data is checked first: if a row has an unknown status or a sport type that does not
+-- exist, the SELECT below fails, naming the first such event, before anything is changed.
+
+SELECT CAST('Event ' || e.id || ' has an unknown status or a missing sport type' AS INT)
+FROM sport_events e
+WHERE e.status IS NULL
+   OR e.status NOT IN ('INACTIVE', 'ACTIVE', 'FINISHED')
+   OR NOT EXISTS (SELECT 1 FROM sport_types t WHERE t.id = e.sport_type_id)
+LIMIT 1;
+
+ALTER TABLE sport_events ADD COLUMN status_code SMALLINT;
+
+UPDATE sport_events
+SET status_code = CASE status
+                      WHEN 'INACTIVE' THEN 0
+                      WHEN 'ACTIVE' THEN 1
+                      WHEN 'FINISHED' THEN 2
+    END;
+
+ALTER TABLE sport_events ALTER COLUMN status_code SET NOT NULL;
+
+-- Indexes on the old column have to go before it can be dropped
+DROP INDEX IF EXISTS idx_sport_events_status_start_time_id;
+DROP INDEX IF EXISTS idx_sport_events_status_sport_type_start_time_id;
+ALTER TABLE sport_events DROP COLUMN status;
+ALTER TABLE sport_events ALTER COLUMN status_code RENAME TO status;
+
+ALTER TABLE sport_events ADD CONSTRAINT ck_sport_events_status CHECK (status BETWEEN 0 AND 2);
+ALTER TABLE sport_events ADD CONSTRAINT fk_sport_events_sport_type FOREIGN KEY (sport_type_id) REFERENCES sport_types (id);
+
+CREATE INDEX IF NOT EXISTS idx_sport_events_start_time_id ON sport_events (start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_status_start_time_id ON sport_events (status, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_sport_type_start_time_id ON sport_events (sport_type_id, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_status_sport_type_start_time_id ON sport_events (status, sport_type_id, start_time, id);
@@ -1,33 +1,27 @@
 CREATE TABLE IF NOT EXISTS sport_types
 (
-    id
-    BIGINT
-    AUTO_INCREMENT
-    PRIMARY
-    KEY,
-    name
-    VARCHAR
-(
-    255
-) NOT NULL UNIQUE
-    );
+    id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL UNIQUE,
+    version BIGINT       NOT NULL DEFAULT 0
+);
 
+-- status holds EventStatus.code(): 0 = INACTIVE, 1 = ACTIVE, 2 = FINISHED
 CREATE TABLE IF NOT EXISTS sport_events
 (
-    id
-    BIGINT
-    AUTO_INCREMENT
-    PRIMARY
-    KEY,
-    name
-    VARCHAR
-(
-    255
-) NOT NULL,
-    sport_type_id BIGINT NOT NULL,
-    start_time TIMESTAMP NOT NULL,
-    status VARCHAR
-(
-    255
-)
-    );
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    sport_type_id BIGINT       NOT NULL,
+    start_time    TIMESTAMP    NOT NULL,
+    status        SMALLINT     NOT NULL,
+    version       BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT fk_sport_events_sport_type FOREIGN KEY (sport_type_id) REFERENCES sport_types (id),
+    CONSTRAINT ck_sport_events_status CHECK (status BETWEEN 0 AND 2)
+);
+
+-- Composite indexes for keyset pagination ordered by (start_time, id), one per filter combination.
+-- Their leading columns also serve findByStatus, findByStatusIn, findBySportTypeId and
+-- findByStatusAndSportTypeId, and the sport type index backs the foreign key.
+CREATE INDEX IF NOT EXISTS idx_sport_events_start_time_id ON sport_events (start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_status_start_time_id ON sport_events (status, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_sport_type_start_time_id ON sport_events (sport_type_id, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_sport_events_status_sport_type_start_time_id ON sport_events (status, sport_type_id, start_time, id);
@@ -3,7 +3,7 @@ package com.sportevents.api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "sport-events.h2-console.enabled=false")
 class SportEventsApiApplicationTests {
 
     @Test
@@ -0,0 +1,72 @@
+package com.sportevents.api.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+
+    private final AccessLogFilter filter =
+            new AccessLogFilter(new AccessLogProperties(true, 1.0, Map.of("/api/events/{id}", 0.0)));
+
+    private final Logger accessLog = (Logger) LoggerFactory.getLogger("access-log");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLog.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLog.detachAppender(appender);
+    }
+
+    @Test
+    void sampleRate_shouldUseEndpointOverride() {
+        assertThat(filter.sampleRate("/api/events/{id}", 200)).isZero();
+        assertThat(filter.sampleRate("/api/events", 200)).isEqualTo(1.0);
+        assertThat(filter.sampleRate(null, 404)).isEqualTo(1.0);
+    }
+
+    @Test
+    void sampleRate_forServerError_shouldAlwaysLog() {
+        assertThat(filter.sampleRate("/api/events/{id}", 500)).isEqualTo(1.0);
+    }
+
+    @Test
+    void filter_withoutMatchingEndpoint_shouldLogRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/unknown"));
+
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.empty())).verifyComplete();
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("method=GET", "path=/api/unknown", "pattern=null", "status=200");
+    }
+
+    @Test
+    void filter_withSampledOutEndpoint_shouldNotLogRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/events/1"));
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events/{id}");
+
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.empty())).verifyComplete();
+
+        assertThat(appender.list).isEmpty();
+    }
+}
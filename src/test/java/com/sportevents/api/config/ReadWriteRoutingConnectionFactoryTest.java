@@ -0,0 +1,127 @@
+package com.sportevents.api.config;
+
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.service.SportEventService;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against two H2 databases standing in for the primary and the replica. They hold different
+ * events, so every read shows which of them it went to.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///routingprimarydb;DB_CLOSE_DELAY=-1",
+        "sport-events.replica.enabled=true",
+        "sport-events.replica.url=" + ReadWriteRoutingConnectionFactoryTest.REPLICA_URL,
+        "sport-events.replica.read-your-writes-window=1h",
+        "sport-events.h2-console.enabled=false",
+        "sport-events.lifecycle.enabled=false",
+        "sport-events.event-cache.enabled=false"})
+class ReadWriteRoutingConnectionFactoryTest {
+
+    static final String REPLICA_URL = "r2dbc:h2:mem:///routingreplicadb;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private SportEventService service;
+
+    @BeforeAll
+    static void setUpReplica() {
+        ConnectionFactory replica = ConnectionFactoryBuilder.withUrl(REPLICA_URL).username("sa").build();
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .populate(replica)
+                .block();
+        DatabaseClient.create(replica)
+                .sql("INSERT INTO sport_events (name, sport_type_id, start_time, status) VALUES ('Replica match', 1, :startTime, 0)")
+                .bind("startTime", LocalDateTime.of(2030, 1, 1, 18, 0))
+                .then()
+                .block();
+    }
+
+    @Test
+    void reads_shouldGoToReplicaUntilThisInstanceWrites() {
+        assertThat(service.filterEvents(null, null).collectList().block())
+                .extracting(SportEventDto::name)
+                .containsExactly("Replica match");
+        assertThat(service.getEventById(1L).block().name()).isEqualTo("Replica match");
+
+        SportEvent event = new SportEvent();
+        event.setName("Primary match");
+        event.setSportTypeId(1L);
+        event.setStartTime(LocalDateTime.now().plusDays(1));
+        Long id = service.createEvent(event).block().getId();
+
+        assertThat(id).isEqualTo(1L);
+        assertThat(service.getEventById(1L).block().name()).isEqualTo("Primary match");
+        assertThat(service.filterEvents(null, null).collectList().block())
+                .extracting(SportEventDto::name)
+                .containsExactly("Primary match");
+    }
+
+    @Test
+    void dispose_shouldDisposeReplicaPoolBehindDecorators() {
+        ConnectionPool primary = new ConnectionPool(ConnectionPoolConfiguration.builder(H2ConnectionFactory.inMemory("disposeprimarydb")).build());
+        ConnectionPool replica = new ConnectionPool(ConnectionPoolConfiguration.builder(H2ConnectionFactory.inMemory("disposereplicadb")).build());
+        ReadWriteRoutingConnectionFactory routing = new ReadWriteRoutingConnectionFactory(primary,
+                ProxyConnectionFactory.builder(replica).build());
+
+        routing.dispose();
+        routing.dispose();
+
+        assertThat(routing.isDisposed()).isTrue();
+        assertThat(primary.isDisposed()).isFalse();
+        assertThat(replica.isDisposed()).isTrue();
+    }
+
+    @Test
+    void postProcessor_withoutReplicaUrl_shouldFailWithClearMessage() {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("replicaProperties", new ReplicaProperties(true, null, null, null, Duration.ZERO));
+        DestructionAwareBeanPostProcessor postProcessor = ReadReplicaConfig.readWriteRoutingPostProcessor(
+                beans.getBeanProvider(ReplicaProperties.class), beans.getBeanProvider(R2dbcProperties.class),
+                beans.getBeanProvider(ConnectionFactoryDecorator.class));
+
+        assertThatThrownBy(() -> postProcessor.postProcessAfterInitialization(H2ConnectionFactory.inMemory("nourldb"), "connectionFactory"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sport-events.replica.url");
+    }
+
+    @Test
+    void postProcessor_beforePrimaryIsDestroyed_shouldDisposeReplica() {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("replicaProperties", new ReplicaProperties(true, "r2dbc:pool:h2:mem:///destroyreplicadb", "sa", null, Duration.ZERO));
+        beans.registerSingleton("r2dbcProperties", new R2dbcProperties());
+        DestructionAwareBeanPostProcessor postProcessor = ReadReplicaConfig.readWriteRoutingPostProcessor(
+                beans.getBeanProvider(ReplicaProperties.class), beans.getBeanProvider(R2dbcProperties.class),
+                beans.getBeanProvider(ConnectionFactoryDecorator.class));
+        ConnectionFactory primary = H2ConnectionFactory.inMemory("destroyprimarydb");
+
+        ReadWriteRoutingConnectionFactory routing =
+                (ReadWriteRoutingConnectionFactory) postProcessor.postProcessAfterInitialization(primary, "connectionFactory");
+        assertThat(postProcessor.requiresDestruction(primary)).isTrue();
+        postProcessor.postProcessBeforeDestruction(primary, "connectionFactory");
+
+        assertThat(routing.isDisposed()).isTrue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sportevents.api.config;
+
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SportTypeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        RepositoryMetricsPostProcessor postProcessor =
+                new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+
+        SportTypeRepository target = mock(SportTypeRepository.class);
+        when(target.findById(1L)).thenReturn(Mono.just(new SportType()));
+        when(target.findAll()).thenReturn(Flux.error(new IllegalStateException("Connection lost")));
+        repository = (SportTypeRepository) postProcessor.postProcessAfterInitialization(target, "sportTypeRepository");
+    }
+
+    @Test
+    void repositoryMethod_shouldBeTimedOnlyOnceSubscribed() {
+        Mono<SportType> result = repository.findById(1L);
+        assertThat(meterRegistry.find(RepositoryMetricsPostProcessor.METRIC_NAME).timer()).isNull();
+
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
+        Timer timer = meterRegistry.get(RepositoryMetricsPostProcessor.METRIC_NAME)
+                .tag("repository", "SportTypeRepository")
+                .tag("method", "findById")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedQuery_shouldBeTaggedAsError() {
+        StepVerifier.create(repository.findAll()).verifyError(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(RepositoryMetricsPostProcessor.METRIC_NAME)
+                .tag("method", "findAll")
+                .tag("outcome", "error")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void nonRepositoryBean_shouldNotBeProxied() {
+        Object bean = new Object();
+        RepositoryMetricsPostProcessor postProcessor =
+                new RepositoryMetricsPostProcessor(new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "bean")).isSameAs(bean);
+    }
+}
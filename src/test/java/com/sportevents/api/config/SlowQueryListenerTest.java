@@ -0,0 +1,56 @@
+package com.sportevents.api.config;
+
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.test.MockQueryExecutionInfo;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SlowQueryListenerTest {
+
+    private ConnectionFactory connectionFactory;
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.empty()).when(connectionFactory).create();
+        listener = new SlowQueryListener(connectionFactory,
+                new SlowQueryProperties(true, Duration.ofMillis(100), true, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void afterQuery_belowThreshold_shouldNotExplain() {
+        listener.afterQuery(execution("SELECT * FROM sport_events", Duration.ofMillis(99)));
+
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void afterQuery_forRepeatedSlowQuery_shouldExplainOncePerInterval() {
+        listener.afterQuery(execution("SELECT * FROM sport_events", Duration.ofMillis(150)));
+        listener.afterQuery(execution("SELECT * FROM sport_events", Duration.ofMillis(300)));
+        listener.afterQuery(execution("SELECT * FROM sport_types", Duration.ofMillis(150)));
+
+        verify(connectionFactory, times(2)).create();
+    }
+
+    private static QueryExecutionInfo execution(String sql, Duration duration) {
+        return MockQueryExecutionInfo.builder()
+                .queries(List.of(new QueryInfo(sql)))
+                .executeDuration(duration)
+                .isSuccess(true)
+                .build();
+    }
+}
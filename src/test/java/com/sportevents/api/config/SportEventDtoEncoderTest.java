@@ -0,0 +1,71 @@
+package com.sportevents.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportType;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SportEventDtoEncoderTest {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(SportEventDto.class);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SportEventDtoEncoder encoder = new SportEventDtoEncoder(objectMapper);
+
+    @Test
+    void encode_shouldWriteJsonArrayOrLinesLikeObjectMapper() throws Exception {
+        List<SportEventDto> events = List.of(event(1L, "Final"), event(2L, "Semifinal"));
+
+        assertThat(encode(Flux.fromIterable(events), MediaType.APPLICATION_JSON))
+                .isEqualTo(objectMapper.writeValueAsString(events));
+        assertThat(encode(Flux.empty(), MediaType.APPLICATION_JSON)).isEqualTo("[]");
+        assertThat(encode(Flux.fromIterable(events), MediaType.APPLICATION_NDJSON))
+                .isEqualTo(objectMapper.writeValueAsString(events.get(0)) + "\n"
+                        + objectMapper.writeValueAsString(events.get(1)) + "\n");
+        assertThat(encode(Mono.just(events.get(0)), MediaType.APPLICATION_JSON))
+                .isEqualTo(objectMapper.writeValueAsString(events.get(0)));
+    }
+
+    @Test
+    void canEncode_shouldOnlyAcceptEventsAsUtf8Json() {
+        assertThat(encoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(encoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_NDJSON)).isTrue();
+        assertThat(encoder.canEncode(ELEMENT_TYPE, null)).isTrue();
+        assertThat(encoder.canEncode(ELEMENT_TYPE, MediaType.TEXT_EVENT_STREAM)).isFalse();
+        assertThat(encoder.canEncode(ELEMENT_TYPE, new MediaType("application", "json", StandardCharsets.UTF_16))).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(SportType.class), MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private String encode(Publisher<SportEventDto> events, MediaType mediaType) {
+        return DataBufferUtils.join(encoder.encode(events, DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, mediaType, Map.of()))
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block();
+    }
+
+    private static SportEventDto event(Long id, String name) {
+        SportType sportType = new SportType();
+        sportType.setId(1L);
+        sportType.setName("Football");
+        return new SportEventDto(id, name, sportType, EventStatus.ACTIVE, LocalDateTime.of(2030, 1, 1, 18, 0), 0L);
+    }
+}
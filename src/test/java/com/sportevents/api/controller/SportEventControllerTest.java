@@ -1,33 +1,75 @@
 package com.sportevents.api.controller;
 
+import com.sportevents.api.config.AccessLogProperties;
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.BulkStatusUpdateResult;
+import com.sportevents.api.dto.EventBatchItemResult;
+import com.sportevents.api.dto.EventStats;
 import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.dto.SportEventPage;
+import com.sportevents.api.exception.ConflictException;
 import com.sportevents.api.model.EventStatus;
 import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.service.CollectionVersions;
+import com.sportevents.api.service.EventStatistics;
+import com.sportevents.api.service.SportEventChange;
+import com.sportevents.api.service.SportEventChangeFeed;
+import com.sportevents.api.service.SportEventExporter;
+import com.sportevents.api.service.SportEventIngestionService;
 import com.sportevents.api.service.SportEventService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(SportEventController.class)
+@EnableConfigurationProperties({AccessLogProperties.class, ListingProperties.class})
+@TestPropertySource(properties = "sport-events.listing.etags=true")
+@Import(CollectionVersions.class)
 class SportEventControllerTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @MockBean
     private SportEventService service;
 
+    @MockBean
+    private SportEventIngestionService ingestionService;
+
+    @MockBean
+    private SportEventChangeFeed changeFeed;
+
+    @MockBean
+    private SportEventExporter exporter;
+
+    @MockBean
+    private EventStatistics statistics;
+
     @Test
     void whenCreateEvent_withValidData_shouldReturnCreated() {
         SportEvent event = new SportEvent();
@@ -49,9 +91,7 @@ class SportEventControllerTest {
 
     @Test
     void whenGetEventById_withExistingId_shouldReturnEvent() {
-        SportEventDto eventDto = new SportEventDto();
-        eventDto.setId(1L);
-        eventDto.setName("Champions League Final");
+        SportEventDto eventDto = new SportEventDto(1L, "Champions League Final", null, null, null, null);
 
         when(service.getEventById(1L)).thenReturn(Mono.just(eventDto));
 
@@ -63,13 +103,33 @@ class SportEventControllerTest {
                 .jsonPath("$.name").isEqualTo("Champions League Final");
     }
 
+    @Test
+    void whenGetEventById_withMatchingETag_shouldReturnNotModified() {
+        SportEventDto eventDto = new SportEventDto(1L, "Champions League Final", null, null, null, 3L);
+
+        when(service.getEventById(1L)).thenReturn(Mono.just(eventDto));
+
+        webTestClient.get()
+                .uri("/api/events/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"");
+
+        webTestClient.get()
+                .uri("/api/events/1")
+                .ifNoneMatch("\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     void whenUpdateEventStatus_withValidTransition_shouldReturnUpdatedEvent() {
         SportEvent event = new SportEvent();
         event.setId(1L);
         event.setStatus(EventStatus.ACTIVE);
 
-        when(service.updateEventStatus(1L, EventStatus.ACTIVE)).thenReturn(Mono.just(event));
+        when(service.updateEventStatus(1L, EventStatus.ACTIVE, null)).thenReturn(Mono.just(event));
 
         webTestClient.patch()
                 .uri("/api/events/1/status?newStatus=ACTIVE")
@@ -80,14 +140,52 @@ class SportEventControllerTest {
     }
 
     @Test
-    void whenGetAllEvents_shouldReturnListOfEvents() {
-        SportEventDto event1 = new SportEventDto();
-        event1.setId(1L);
-        event1.setName("Event 1");
+    void whenUpdateEventStatus_withStaleExpectedStatus_shouldReturnConflict() {
+        when(service.updateEventStatus(1L, EventStatus.FINISHED, EventStatus.ACTIVE))
+                .thenReturn(Mono.error(new ConflictException("Event with ID 1 is INACTIVE, expected ACTIVE")));
+
+        webTestClient.patch()
+                .uri("/api/events/1/status?newStatus=FINISHED&expectedStatus=ACTIVE")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error: Event with ID 1 is INACTIVE, expected ACTIVE");
+    }
+
+    @Test
+    void whenUpdateEventStatuses_shouldReturnResult() {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(null, 1L, null, null, EventStatus.ACTIVE);
+
+        when(service.updateEventStatuses(request)).thenReturn(Mono.just(new BulkStatusUpdateResult(EventStatus.ACTIVE,
+                List.of(1L), List.of(new BulkStatusUpdateResult.Rejection(2L, "Cannot update event status: Already ACTIVE")))));
+
+        webTestClient.patch()
+                .uri("/api/events/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.updated[0]").isEqualTo(1)
+                .jsonPath("$.rejected[0].reason").isEqualTo("Cannot update event status: Already ACTIVE");
+    }
 
-        SportEventDto event2 = new SportEventDto();
-        event2.setId(2L);
-        event2.setName("Event 2");
+    @Test
+    void whenUpdateEventStatuses_withoutCriteria_shouldReturnBadRequest() {
+        webTestClient.patch()
+                .uri("/api/events/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"newStatus\":\"ACTIVE\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed");
+    }
+
+    @Test
+    void whenGetAllEvents_shouldReturnListOfEvents() {
+        SportEventDto event1 = new SportEventDto(1L, "Event 1", null, null, null, null);
+        SportEventDto event2 = new SportEventDto(2L, "Event 2", null, null, null, null);
 
         when(service.filterEvents(null, null)).thenReturn(Flux.fromIterable(List.of(event1, event2)));
 
@@ -99,4 +197,167 @@ class SportEventControllerTest {
                 .jsonPath("$[0].name").isEqualTo("Event 1")
                 .jsonPath("$[1].name").isEqualTo("Event 2");
     }
+
+    @Test
+    void whenGetAllEvents_withCurrentETag_shouldReturnNotModifiedWithoutQuerying() {
+        String eTag = webTestClient.get()
+                .uri("/api/events?status=ACTIVE")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SportEventDto.class)
+                .getResponseHeaders()
+                .getETag();
+        Mockito.clearInvocations(service);
+
+        webTestClient.get()
+                .uri("/api/events?status=ACTIVE")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        Mockito.verifyNoInteractions(service);
+
+        collectionVersions.onChange(SportEventChange.created(new SportEvent()));
+        webTestClient.get()
+                .uri("/api/events?status=ACTIVE")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void whenGetAllEvents_withLimit_shouldReturnPageAndNextCursor() {
+        SportEventDto event = new SportEventDto(1L, "Event 1", null, null, null, null);
+
+        when(service.findEventsPage(EventStatus.ACTIVE, null, 1, null))
+                .thenReturn(Mono.just(new SportEventPage(List.of(event), "next-token")));
+
+        webTestClient.get()
+                .uri("/api/events?status=ACTIVE&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(SportEventController.NEXT_CURSOR_HEADER, "next-token")
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Event 1");
+    }
+
+    @Test
+    void whenGetAllEvents_withNdjsonAccept_shouldStreamEvents() {
+        SportEventDto event1 = new SportEventDto(1L, "Event 1", null, null, null, null);
+        SportEventDto event2 = new SportEventDto(2L, "Event 2", null, null, null, null);
+
+        when(service.filterEvents(null, null)).thenReturn(Flux.just(event1, event2));
+
+        webTestClient.get()
+                .uri("/api/events")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(SportEventDto.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(dto -> dto.name().equals("Event 1"))
+                .expectNextMatches(dto -> dto.name().equals("Event 2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void whenGetEventById_withInvalidId_shouldReturnBadRequest() {
+        webTestClient.get()
+                .uri("/api/events/invalid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value for parameter 'id': invalid");
+    }
+
+    @Test
+    void whenCreateEvents_withNdjsonBody_shouldReturnResultPerEvent() {
+        when(ingestionService.createEvents(Mockito.any())).thenAnswer(invocation -> {
+            Flux<SportEvent> events = invocation.getArgument(0);
+            return events.index((index, event) -> EventBatchItemResult.created(index, index + 10));
+        });
+
+        String body = """
+                {"name":"Event 1","sportTypeId":1,"startTime":"2030-01-01T18:00:00"}
+                {"name":"Event 2","sportTypeId":1,"startTime":"2030-01-02T18:00:00"}
+                """;
+
+        webTestClient.post()
+                .uri("/api/events/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].id").isEqualTo(11);
+    }
+
+    @Test
+    void whenStreamChanges_shouldReturnServerSentEvents() {
+        when(changeFeed.changes(EventStatus.ACTIVE, null)).thenReturn(Flux.just(
+                ServerSentEvent.builder("{\"type\":\"STATUS_CHANGED\"}").id("1").event("status_changed").build()));
+
+        Flux<ServerSentEvent<String>> changes = webTestClient.get()
+                .uri("/api/events/changes?status=ACTIVE")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(changes)
+                .assertNext(sse -> {
+                    assertThat(sse.event()).isEqualTo("status_changed");
+                    assertThat(sse.data()).isEqualTo("{\"type\":\"STATUS_CHANGED\"}");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void whenExportEvents_shouldStreamAttachmentInRequestedFormat() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(exporter.export(Mockito.eq(SportEventExporter.Format.NDJSON), Mockito.eq(from), Mockito.isNull(), Mockito.any()))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8))));
+
+        webTestClient.get()
+                .uri("/api/events/export?format=NDJSON&startTimeFrom=2030-01-01T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("Content-Disposition", "attachment; filename=\"sport-events.ndjson\"")
+                .expectBody(String.class).isEqualTo("{\"id\":1}\n");
+    }
+
+    @Test
+    void whenGetEventStats_shouldReturnCounts() {
+        Map<EventStatus, Long> counts = Map.of(EventStatus.INACTIVE, 2L, EventStatus.ACTIVE, 1L, EventStatus.FINISHED, 0L);
+        when(statistics.stats()).thenReturn(Mono.just(new EventStats(3, counts,
+                List.of(new EventStats.SportTypeStats(1L, 3, counts)))));
+
+        webTestClient.get()
+                .uri("/api/events/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.byStatus.INACTIVE").isEqualTo(2)
+                .jsonPath("$.bySportType[0].sportTypeId").isEqualTo(1);
+    }
+
+    @Test
+    void whenSearchEvents_shouldReturnMatches() {
+        SportEventDto eventDto = new SportEventDto(1L, "Champions League Final", null, null, null, null);
+        when(service.searchEvents("champ", EventStatus.INACTIVE, null, 5)).thenReturn(Flux.just(eventDto));
+
+        webTestClient.get()
+                .uri("/api/events/search?q=champ&status=INACTIVE&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("Champions League Final");
+    }
 }
@@ -1,13 +1,22 @@
 package com.sportevents.api.controller;
 
+import com.sportevents.api.config.AccessLogProperties;
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.config.ReplicaProperties;
 import com.sportevents.api.model.SportType;
 import com.sportevents.api.repository.SportTypeRepository;
+import com.sportevents.api.service.CollectionVersions;
+import com.sportevents.api.service.ReplicaReads;
+import com.sportevents.api.service.SportTypeCache;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -15,6 +24,9 @@ import reactor.core.publisher.Mono;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(SportTypeController.class)
+@EnableConfigurationProperties({AccessLogProperties.class, ListingProperties.class, ReplicaProperties.class})
+@TestPropertySource(properties = "sport-events.listing.etags=true")
+@Import({CollectionVersions.class, ReplicaReads.class})
 class SportTypeControllerTest {
 
     @Autowired
@@ -23,6 +35,9 @@ class SportTypeControllerTest {
     @MockBean
     private SportTypeRepository repository;
 
+    @MockBean
+    private SportTypeCache sportTypeCache;
+
     @Test
     void createSportType_shouldReturnCreated() {
         SportType sportType = new SportType();
@@ -38,6 +53,8 @@ class SportTypeControllerTest {
                 .expectStatus().isCreated()
                 .expectBody()
                 .jsonPath("$.name").isEqualTo("Basketball");
+
+        Mockito.verify(sportTypeCache).put(sportType);
     }
 
     @Test
@@ -59,6 +76,43 @@ class SportTypeControllerTest {
                 .jsonPath("$[1].name").isEqualTo("Football");
     }
 
+    @Test
+    void getAllSportTypes_withCurrentETag_shouldReturnNotModifiedUntilSportTypeIsCreated() {
+        SportType sportType = new SportType();
+        sportType.setName("Basketball");
+
+        when(repository.findAll()).thenReturn(Flux.just(sportType));
+        when(repository.save(Mockito.any(SportType.class))).thenReturn(Mono.just(sportType));
+
+        String eTag = webTestClient.get()
+                .uri("/api/sport-types")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SportType.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/sport-types")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.post()
+                .uri("/api/sport-types")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sportType)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri("/api/sport-types")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void getSportTypeById_whenExists_shouldReturnSportType() {
         SportType sportType = new SportType();
@@ -0,0 +1,60 @@
+package com.sportevents.api.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SportEventDtoSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .mixIn(SportEventDto.class, DefaultSerialization.class)
+            .build();
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+
+    @Test
+    void serialize_shouldMatchDefaultSerialization() throws Exception {
+        List<SportEventDto> events = List.of(
+                new SportEventDto(1L, "Final \"A\" \\ Zürich\n", sportType(1L, "Football", null), EventStatus.ACTIVE,
+                        LocalDateTime.of(2030, 1, 2, 3, 4, 5), 7L),
+                new SportEventDto(2L, "Night game", sportType(1L, "Football", null), EventStatus.FINISHED,
+                        LocalDateTime.of(2030, 12, 31, 23, 59, 0, 120_000_000), 0L),
+                new SportEventDto(3L, "Versioned type", sportType(2L, "Ice \"Hockey\"", 4L), EventStatus.INACTIVE,
+                        LocalDateTime.of(2030, 6, 1, 0, 0, 0, 1), null),
+                new SportEventDto(4L, "Far future", sportType(3L, null, null), null, LocalDateTime.of(10000, 1, 1, 0, 0), 1L),
+                new SportEventDto(null, null, null, null, null, null));
+
+        assertThat(objectMapper.writeValueAsString(events)).isEqualTo(defaultMapper.writeValueAsString(events));
+    }
+
+    @Test
+    void serialize_shouldEncodeSportTypeAgainWhenItsNameChanges() throws Exception {
+        SportEventDto before = new SportEventDto(1L, "Event", sportType(1L, "Football", null), EventStatus.ACTIVE,
+                LocalDateTime.of(2030, 1, 1, 18, 0), 0L);
+        SportEventDto after = new SportEventDto(1L, "Event", sportType(1L, "Soccer", null), EventStatus.ACTIVE,
+                LocalDateTime.of(2030, 1, 1, 18, 0), 0L);
+
+        assertThat(objectMapper.writeValueAsString(before)).contains("{\"id\":1,\"name\":\"Football\"}");
+        assertThat(objectMapper.writeValueAsString(after)).contains("{\"id\":1,\"name\":\"Soccer\"}");
+    }
+
+    private static SportType sportType(Long id, String name, Long version) {
+        SportType sportType = new SportType();
+        sportType.setId(id);
+        sportType.setName(name);
+        sportType.setVersion(version);
+        return sportType;
+    }
+}
@@ -1,10 +1,12 @@
 package com.sportevents.api.exception;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
-import org.springframework.web.bind.MethodArgumentNotValidException;
-import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.util.Collections;
 
@@ -18,7 +20,7 @@ class GlobalExceptionHandlerTest {
 
     @Test
     void handleValidationExceptions_shouldReturnBadRequest() {
-        MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
+        WebExchangeBindException ex = mock(WebExchangeBindException.class);
         BindingResult bindingResult = mock(BindingResult.class);
         when(bindingResult.getFieldErrors()).thenReturn(Collections.emptyList());
         when(ex.getBindingResult()).thenReturn(bindingResult);
@@ -61,15 +63,27 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().message()).isEqualTo("Error: Resource not found");
     }
 
+    @Test
+    void handleConflictException_shouldReturnConflict() {
+        ConflictException ex = new ConflictException("Event 1 is FINISHED, expected ACTIVE");
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleConflictException(ex);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(409);
+        assertThat(response.getBody().message()).isEqualTo("Error: Event 1 is FINISHED, expected ACTIVE");
+    }
+
     @Test
     void handleTypeMismatch_shouldReturnBadRequest() {
-        MethodArgumentTypeMismatchException ex = new MethodArgumentTypeMismatchException(
-                "invalid", Integer.class, "id", null, new IllegalArgumentException("Invalid type"));
+        MethodParameter parameter = mock(MethodParameter.class);
+        when(parameter.getParameterName()).thenReturn("id");
+        ServerWebInputException ex = new ServerWebInputException("Type mismatch.", parameter,
+                new TypeMismatchException("invalid", Long.class));
 
         ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleTypeMismatch(ex);
 
         assertThat(response.getStatusCodeValue()).isEqualTo(400);
-        assertThat(response.getBody().message()).contains("Invalid value for parameter");
+        assertThat(response.getBody().message()).isEqualTo("Invalid value for parameter 'id': invalid");
     }
 
     @Test
@@ -0,0 +1,242 @@
+package com.sportevents.api.load;
+
+import com.sportevents.api.dto.EventBatchItemResult;
+import com.sportevents.api.model.EventStatus;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mix of API traffic at a fixed arrival rate against the application running on embedded
+ * H2 and prints throughput and latency percentiles per endpoint. Latency is measured from the time
+ * a request was scheduled to be sent, so a server that falls behind shows up in the percentiles
+ * instead of silently lowering the request rate.
+ * <p>
+ * Excluded from the regular build; run with {@code ./mvnw -Pload test}. The rate, duration and warm-up
+ * can be changed with {@code -Dload.rate=500 -Dload.duration=60s -Dload.warmup=10s}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "sport-events.h2-console.enabled=false")
+class ApiLoadTest {
+
+    private static final int SEED_EVENTS = 1000;
+    private static final long SPORT_TYPES = 3;
+
+    @LocalServerPort
+    private int port;
+
+    private WebClient client;
+    private final AtomicLong minEventId = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxEventId = new AtomicLong();
+
+    private record Operation(String name, int weight, Supplier<Mono<HttpStatusCode>> request) {
+    }
+
+    private record CreatedEvent(Long id) {
+    }
+
+    private static final class Stats {
+        final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+
+    @Test
+    void fixedRateMixedTraffic() {
+        int rate = Integer.getInteger("load.rate", 200);
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "5s"));
+
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(512)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        try {
+            seedEvents();
+            List<Operation> mix = List.of(
+                    new Operation("POST /api/events", 10, this::createEvent),
+                    new Operation("GET /api/events?status&sportTypeId&limit", 35, this::listEvents),
+                    new Operation("GET /api/events/{id}", 30, this::getEvent),
+                    new Operation("PATCH /api/events/{id}/status", 15, this::patchStatus),
+                    new Operation("GET /api/sport-types", 5, () -> get("/api/sport-types")),
+                    new Operation("GET /api/sport-types/{id}", 5, () -> get("/api/sport-types/" + randomSportTypeId())));
+
+            run(mix, rate, warmup, null);
+            Map<Operation, Stats> stats = mix.stream()
+                    .collect(Collectors.toMap(op -> op, op -> new Stats()));
+            run(mix, rate, duration, stats);
+
+            report(mix, stats, rate, duration);
+            assertThat(stats.values().stream().mapToLong(s -> s.latencyMicros.getTotalCount()).sum()).isPositive();
+            assertThat(stats.values().stream().mapToLong(s -> s.failures.sum()).sum())
+                    .as("requests that failed with a server or transport error")
+                    .isZero();
+        } finally {
+            connections.dispose();
+        }
+    }
+
+    private void run(List<Operation> mix, int rate, Duration duration, Map<Operation, Stats> stats) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+                .take(requests)
+                .onBackpressureBuffer()
+                .flatMap(i -> {
+                    long scheduledAt = start + (i + 1) * intervalNanos;
+                    Operation operation = pick(mix, totalWeight);
+                    return operation.request().get()
+                            .timeout(Duration.ofSeconds(30))
+                            .doOnSuccess(status -> {
+                                if (stats != null) {
+                                    record(stats.get(operation), status, scheduledAt);
+                                }
+                            })
+                            .onErrorResume(ex -> {
+                                if (stats != null) {
+                                    record(stats.get(operation), null, scheduledAt);
+                                }
+                                return Mono.empty();
+                            });
+                }, 4096)
+                .blockLast();
+    }
+
+    private static void record(Stats stats, HttpStatusCode status, long scheduledAt) {
+        stats.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt));
+        if (status == null || status.is5xxServerError()) {
+            stats.failures.increment();
+        } else if (status.is4xxClientError()) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    private static Operation pick(List<Operation> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : mix) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static void report(List<Operation> mix, Map<Operation, Stats> stats, int rate, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%nLoad test: %d req/s for %s%n", rate, duration);
+        System.out.printf("%-45s %8s %9s %9s %9s %9s %9s %9s %7s %8s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "Failures");
+        for (Operation operation : mix) {
+            Stats s = stats.get(operation);
+            Histogram h = s.latencyMicros;
+            System.out.printf("%-45s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %8d%n",
+                    operation.name(), h.getTotalCount(), h.getTotalCount() / seconds,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMaxValue() / 1000.0, s.clientErrors.sum(), s.failures.sum());
+        }
+    }
+
+    private void seedEvents() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Map<String, Object>> events = LongStream.range(0, SEED_EVENTS)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "name", "Seed event " + i,
+                        "sportTypeId", i % SPORT_TYPES + 1,
+                        "startTime", start.plusMinutes(i).toString()))
+                .toList();
+        client.post().uri("/api/events/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(events)
+                .retrieve()
+                .bodyToFlux(EventBatchItemResult.class)
+                .mapNotNull(EventBatchItemResult::id)
+                .doOnNext(this::trackEventId)
+                .blockLast();
+    }
+
+    private Mono<HttpStatusCode> createEvent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> event = Map.of(
+                "name", "Load event " + random.nextInt(1_000_000),
+                "sportTypeId", randomSportTypeId(),
+                "startTime", LocalDateTime.now().plusDays(1).plusMinutes(random.nextInt(10_000)).toString());
+        return client.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(event)
+                .exchangeToMono(response -> response.bodyToMono(CreatedEvent.class)
+                        .doOnNext(created -> trackEventId(created.id()))
+                        .then(Mono.just(response.statusCode())));
+    }
+
+    private Mono<HttpStatusCode> listEvents() {
+        EventStatus[] statuses = EventStatus.values();
+        EventStatus status = statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+        return get("/api/events?status=%s&sportTypeId=%d&limit=50".formatted(status, randomSportTypeId()));
+    }
+
+    private Mono<HttpStatusCode> getEvent() {
+        return get("/api/events/" + randomEventId());
+    }
+
+    private Mono<HttpStatusCode> patchStatus() {
+        EventStatus[] statuses = EventStatus.values();
+        EventStatus newStatus = statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+        return client.patch().uri("/api/events/{id}/status?newStatus={status}", randomEventId(), newStatus)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    private Mono<HttpStatusCode> get(String uri) {
+        return client.get().uri(uri)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    private void trackEventId(Long id) {
+        if (id != null) {
+            minEventId.accumulateAndGet(id, Math::min);
+            maxEventId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    private long randomEventId() {
+        return ThreadLocalRandom.current().nextLong(minEventId.get(), maxEventId.get() + 1);
+    }
+
+    private static long randomSportTypeId() {
+        return ThreadLocalRandom.current().nextLong(SPORT_TYPES) + 1;
+    }
+}
@@ -0,0 +1,249 @@
+package com.sportevents.api.repository;
+
+import com.sportevents.api.config.R2dbcConversionsConfig;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.EventCount;
+import com.sportevents.api.dto.EventCursor;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///repositorytestdb;DB_CLOSE_DELAY=-1")
+@Import(R2dbcConversionsConfig.class)
+class CustomSportEventRepositoryTest {
+
+    @Autowired
+    private SportEventRepository repository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private SportEvent football;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll().block();
+        football = repository.save(event("Football match", 1L, EventStatus.ACTIVE)).block();
+        repository.save(event("Hockey match", 2L, EventStatus.INACTIVE)).block();
+    }
+
+    @Test
+    void derivedQueries_shouldStoreAndMatchStatusAsCode() {
+        StepVerifier.create(databaseClient.sql("SELECT status FROM sport_events WHERE id = :id")
+                        .bind("id", football.getId())
+                        .map(row -> row.get("status", Short.class))
+                        .one())
+                .expectNext(EventStatus.ACTIVE.code())
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByStatusIn(Set.of(EventStatus.ACTIVE, EventStatus.FINISHED)))
+                .assertNext(event -> assertThat(event.getStatus()).isEqualTo(EventStatus.ACTIVE))
+                .verifyComplete();
+        StepVerifier.create(repository.findByStatusAndSportTypeId(EventStatus.INACTIVE, 2L).map(SportEvent::getName))
+                .expectNext("Hockey match")
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllWithSportType_shouldJoinSportTypeName() {
+        StepVerifier.create(repository.findAllWithSportType().collectList())
+                .assertNext(events -> assertThat(events)
+                        .extracting(dto -> dto.sportType().getName())
+                        .containsExactlyInAnyOrder("Football", "Hockey"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByStatusAndSportTypeIdWithSportType_shouldApplyBothFilters() {
+        StepVerifier.create(repository.findByStatusAndSportTypeIdWithSportType(EventStatus.ACTIVE, 1L))
+                .assertNext(dto -> {
+                    assertThat(dto.name()).isEqualTo("Football match");
+                    assertThat(dto.status()).isEqualTo(EventStatus.ACTIVE);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByStatusAndSportTypeIdWithSportType(EventStatus.ACTIVE, 2L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByIdWithSportType_shouldMapAllColumns() {
+        StepVerifier.create(repository.findByIdWithSportType(football.getId()))
+                .assertNext(dto -> {
+                    assertThat(dto.id()).isEqualTo(football.getId());
+                    assertThat(dto.startTime()).isEqualTo(football.getStartTime());
+                    assertThat(dto.sportType().getId()).isEqualTo(1L);
+                    assertThat(dto.sportType().getName()).isEqualTo("Football");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageWithSportType_shouldWalkPagesInStartTimeOrder() {
+        SportEvent later = event("Later match", 1L, EventStatus.ACTIVE);
+        later.setStartTime(LocalDateTime.of(2031, 1, 1, 18, 0));
+        repository.save(later).block();
+
+        StepVerifier.create(repository.findPageWithSportType(null, null, null, 2).collectList())
+                .assertNext(page -> assertThat(page)
+                        .extracting(SportEventDto::name)
+                        .containsExactly("Football match", "Hockey match"))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findPageWithSportType(EventStatus.ACTIVE, 1L,
+                        new EventCursor(football.getStartTime(), football.getId()), 2))
+                .assertNext(dto -> assertThat(dto.name()).isEqualTo("Later match"))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_shouldReturnGeneratedIdsInOrder() {
+        List<SportEvent> events = List.of(
+                event("Batch 1", 1L, EventStatus.INACTIVE),
+                event("Batch 2", 2L, EventStatus.INACTIVE),
+                event("Batch 3", 3L, EventStatus.INACTIVE));
+
+        StepVerifier.create(repository.insertAll(events).collectList())
+                .assertNext(saved -> assertThat(saved)
+                        .extracting(SportEvent::getId)
+                        .doesNotContainNull()
+                        .isSorted()
+                        .doesNotHaveDuplicates())
+                .verifyComplete();
+
+        StepVerifier.create(repository.findById(events.get(2).getId()))
+                .assertNext(saved -> assertThat(saved.getName()).isEqualTo("Batch 3"))
+                .verifyComplete();
+    }
+
+    @Test
+    void transitionStatus_shouldOnlyUpdateFromAllowedStatuses() {
+        StepVerifier.create(repository.transitionStatus(football.getId(), EventStatus.FINISHED,
+                        Set.of(EventStatus.INACTIVE), null))
+                .verifyComplete();
+
+        StepVerifier.create(repository.transitionStatus(football.getId(), EventStatus.FINISHED,
+                        Set.of(EventStatus.ACTIVE), null))
+                .assertNext(updated -> {
+                    assertThat(updated.getStatus()).isEqualTo(EventStatus.FINISHED);
+                    assertThat(updated.getName()).isEqualTo("Football match");
+                    assertThat(updated.getVersion()).isEqualTo(football.getVersion() + 1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void transitionStatus_shouldNotActivateEventThatAlreadyStarted() {
+        SportEvent hockey = repository.findBySportTypeId(2L).blockFirst();
+
+        StepVerifier.create(repository.transitionStatus(hockey.getId(), EventStatus.ACTIVE,
+                        Set.of(EventStatus.INACTIVE), hockey.getStartTime().plusMinutes(1)))
+                .verifyComplete();
+    }
+
+    @Test
+    void transitionStatuses_shouldUpdateMatchingEventsInOneStatement() {
+        SportEvent secondFootball = repository.save(event("Second football match", 1L, EventStatus.INACTIVE)).block();
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(null, 1L, null, null, EventStatus.FINISHED);
+
+        StepVerifier.create(repository.transitionStatuses(request, EventStatus.FINISHED.predecessors(), null))
+                .assertNext(updated -> assertThat(updated.getId()).isEqualTo(football.getId()))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findMatching(request).map(SportEvent::getId).collectList())
+                .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(football.getId(), secondFootball.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamForExport_shouldReturnEventsWithinStartTimeRangeInIdOrder() {
+        SportEvent later = event("Later match", 3L, EventStatus.INACTIVE);
+        later.setStartTime(football.getStartTime().plusDays(1));
+        repository.save(later).block();
+
+        StepVerifier.create(repository.streamForExport(null, null, 1).map(SportEvent::getName).collectList())
+                .assertNext(names -> assertThat(names).containsExactly("Football match", "Hockey match", "Later match"))
+                .verifyComplete();
+
+        StepVerifier.create(repository.streamForExport(football.getStartTime().plusHours(1), null, 1))
+                .assertNext(event -> assertThat(event.getName()).isEqualTo("Later match"))
+                .verifyComplete();
+
+        StepVerifier.create(repository.streamForExport(null, later.getStartTime(), 1).count())
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void countBySportTypeAndStatus_shouldGroupEvents() {
+        repository.save(event("Second football match", 1L, EventStatus.ACTIVE)).block();
+
+        StepVerifier.create(repository.countBySportTypeAndStatus().collectList())
+                .assertNext(counts -> assertThat(counts).containsExactlyInAnyOrder(
+                        new EventCount(1L, EventStatus.ACTIVE, 2),
+                        new EventCount(2L, EventStatus.INACTIVE, 1)))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamStatuses_shouldReturnStatusAndVersionOfEveryEvent() {
+        SportEvent saved = repository.save(event("Second football match", 1L, EventStatus.INACTIVE)).block();
+        repository.transitionStatus(saved.getId(), EventStatus.ACTIVE, List.of(EventStatus.INACTIVE), null).block();
+
+        StepVerifier.create(repository.streamStatuses().filter(event -> event.getId().equals(saved.getId())))
+                .assertNext(event -> {
+                    assertThat(event.getSportTypeId()).isEqualTo(1L);
+                    assertThat(event.getStatus()).isEqualTo(EventStatus.ACTIVE);
+                    assertThat(event.getVersion()).isEqualTo(1L);
+                    assertThat(event.getName()).isNull();
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.streamStatuses().count()).expectNext(3L).verifyComplete();
+    }
+
+    @Test
+    void searchIdsByName_shouldMatchEveryTokenAsPrefixOfAWordInIdOrder() {
+        Long league = repository.save(event("Champions League Final", 1L, EventStatus.INACTIVE)).block().getId();
+        Long cup = repository.save(event("Cup final in Zürich", 1L, EventStatus.ACTIVE)).block().getId();
+
+        StepVerifier.create(repository.searchIdsByName(List.of("fin"), null, null, 10))
+                .expectNext(league, cup)
+                .verifyComplete();
+        StepVerifier.create(repository.searchIdsByName(List.of("champ", "lea"), null, null, 10))
+                .expectNext(league)
+                .verifyComplete();
+        StepVerifier.create(repository.searchIdsByName(List.of("zür"), null, null, 10))
+                .expectNext(cup)
+                .verifyComplete();
+        StepVerifier.create(repository.searchIdsByName(List.of("inal"), null, null, 10))
+                .verifyComplete();
+        StepVerifier.create(repository.searchIdsByName(List.of("fin"), EventStatus.ACTIVE, 1L, 10))
+                .expectNext(cup)
+                .verifyComplete();
+        StepVerifier.create(repository.searchIdsByName(List.of("match"), null, null, 1))
+                .expectNext(football.getId())
+                .verifyComplete();
+    }
+
+    private static SportEvent event(String name, Long sportTypeId, EventStatus status) {
+        SportEvent event = new SportEvent();
+        event.setName(name);
+        event.setSportTypeId(sportTypeId);
+        event.setStartTime(LocalDateTime.of(2030, 1, 1, 18, 0));
+        event.setStatus(status);
+        return event;
+    }
+}
@@ -0,0 +1,97 @@
+package com.sportevents.api.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migration script against a sport_events table as the previous schema created it.
+ */
+class StatusMigrationScriptTest {
+
+    private static final String LEGACY_SCHEMA = """
+            CREATE TABLE sport_types (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE,
+                                      version BIGINT NOT NULL DEFAULT 0);
+            CREATE TABLE sport_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL,
+                                       sport_type_id BIGINT NOT NULL, start_time TIMESTAMP NOT NULL,
+                                       status VARCHAR(255), version BIGINT NOT NULL DEFAULT 0);
+            CREATE INDEX idx_sport_events_status_start_time_id ON sport_events (status, start_time, id);
+            CREATE INDEX idx_sport_events_status_sport_type_start_time_id ON sport_events (status, sport_type_id, start_time, id);
+            INSERT INTO sport_types (name) VALUES ('Football');
+            INSERT INTO sport_events (name, sport_type_id, start_time, status) VALUES
+                ('Upcoming', 1, TIMESTAMP '2030-01-01 18:00:00', 'INACTIVE'),
+                ('Running', 1, TIMESTAMP '2030-01-01 18:00:00', 'ACTIVE'),
+                ('Over', 1, TIMESTAMP '2030-01-01 18:00:00', 'FINISHED');
+            """;
+
+    private ConnectionFactory connectionFactory;
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///migrationtestdb" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        for (String statement : LEGACY_SCHEMA.split(";")) {
+            if (!statement.isBlank()) {
+                databaseClient.sql(statement).then().block();
+            }
+        }
+    }
+
+    @Test
+    void migration_shouldConvertStatusesToCodesAndAddForeignKey() {
+        migrate().block();
+
+        StepVerifier.create(databaseClient.sql("SELECT name, status FROM sport_events ORDER BY id")
+                        .map(row -> row.get("name", String.class) + "=" + row.get("status", Short.class))
+                        .all()
+                        .collectList())
+                .assertNext(rows -> assertThat(rows).containsExactly("Upcoming=0", "Running=1", "Over=2"))
+                .verifyComplete();
+
+        StepVerifier.create(databaseClient.sql("INSERT INTO sport_events (name, sport_type_id, start_time, status) VALUES ('Orphan', 99, CURRENT_TIMESTAMP, 0)")
+                        .then())
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    @Test
+    void migration_withUnknownStatusOrMissingSportType_shouldFailBeforeChangingTheTable() {
+        for (String sportTypeAndStatus : new String[]{"1, 'POSTPONED'", "1, NULL", "99, 'ACTIVE'"}) {
+            databaseClient.sql("DELETE FROM sport_events WHERE name = 'Invalid'").then().block();
+            databaseClient.sql("INSERT INTO sport_events (name, start_time, sport_type_id, status) VALUES ('Invalid', CURRENT_TIMESTAMP, %s)"
+                            .formatted(sportTypeAndStatus))
+                    .then()
+                    .block();
+
+            StepVerifier.create(migrate())
+                    .expectErrorSatisfies(ex -> assertThat(ex).hasMessageContaining("has an unknown status or a missing sport type"))
+                    .verify();
+
+            StepVerifier.create(databaseClient.sql("SELECT status FROM sport_events WHERE name = 'Running'")
+                            .map(row -> row.get("status", String.class))
+                            .one())
+                    .expectNext("ACTIVE")
+                    .verifyComplete();
+            StepVerifier.create(databaseClient.sql("SELECT COUNT(*) AS n FROM information_schema.columns WHERE table_name = 'SPORT_EVENTS'")
+                            .map(row -> row.get("n", Long.class))
+                            .one())
+                    .expectNext(6L)
+                    .verifyComplete();
+        }
+    }
+
+    private Mono<Void> migrate() {
+        return new ResourceDatabasePopulator(new ClassPathResource("db/migration/status-code-and-sport-type-fk.sql"))
+                .populate(connectionFactory);
+    }
+}
@@ -0,0 +1,154 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.LifecycleProperties;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventLifecycleSchedulerTest {
+
+    @Mock
+    private SportEventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EventLifecycleScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        LifecycleProperties properties = new LifecycleProperties(true, Duration.ofHours(1), Duration.ofHours(2),
+                Map.of(2L, Duration.ofMinutes(30)), 500);
+        scheduler = new EventLifecycleScheduler(eventRepository, eventPublisher, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void applyDueTransitions_shouldActivateEventsThatStarted() {
+        LocalDateTime startTime = LocalDateTime.now().plusMinutes(5);
+        SportEvent event = event(1L, 1L, EventStatus.INACTIVE, startTime);
+        SportEvent activated = event(1L, 1L, EventStatus.ACTIVE, startTime);
+        when(eventRepository.transitionStatuses(any(), eq(EventStatus.ACTIVE.predecessors()), eq(null)))
+                .thenReturn(Flux.just(activated));
+
+        scheduler.onChange(SportEventChange.created(event));
+
+        StepVerifier.create(scheduler.applyDueTransitions(startTime.minusSeconds(1)))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(scheduler.applyDueTransitions(startTime))
+                .expectNext(1L)
+                .verifyComplete();
+
+        ArgumentCaptor<BulkStatusUpdateRequest> request = ArgumentCaptor.forClass(BulkStatusUpdateRequest.class);
+        verify(eventRepository).transitionStatuses(request.capture(), any(), any());
+        assertThat(request.getValue().ids()).containsExactly(1L);
+        assertThat(request.getValue().newStatus()).isEqualTo(EventStatus.ACTIVE);
+        verify(eventPublisher).publishEvent(SportEventChange.statusChanged(activated, EventStatus.INACTIVE));
+    }
+
+    @Test
+    void onChange_whenActivated_shouldScheduleFinishAfterSportTypeDuration() {
+        LocalDateTime startTime = LocalDateTime.now().minusMinutes(10);
+        SportEvent active = event(2L, 2L, EventStatus.ACTIVE, startTime);
+        SportEvent finished = event(2L, 2L, EventStatus.FINISHED, startTime);
+        when(eventRepository.transitionStatuses(any(), eq(EventStatus.FINISHED.predecessors()), eq(null)))
+                .thenReturn(Flux.just(finished));
+
+        scheduler.onChange(SportEventChange.statusChanged(active, EventStatus.INACTIVE));
+
+        StepVerifier.create(scheduler.applyDueTransitions(startTime.plusMinutes(29)))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(scheduler.applyDueTransitions(startTime.plusMinutes(30)))
+                .expectNext(1L)
+                .verifyComplete();
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void onChange_whenDeactivatedAfterStart_shouldNotReactivate() {
+        SportEvent event = event(3L, 1L, EventStatus.INACTIVE, LocalDateTime.now().minusMinutes(1));
+
+        scheduler.onChange(SportEventChange.statusChanged(event, EventStatus.ACTIVE));
+
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void onChange_shouldKeepOnlyTheLatestTransitionOfAnEvent() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 1000; i++) {
+            scheduler.onChange(SportEventChange.created(event(4L, 1L, EventStatus.INACTIVE, startTime.plusMinutes(i))));
+        }
+
+        assertThat(scheduler.pending()).isEqualTo(1);
+        assertThat(scheduler.queued()).isLessThan(100);
+
+        scheduler.onChange(SportEventChange.statusChanged(event(4L, 1L, EventStatus.FINISHED, startTime), EventStatus.INACTIVE));
+
+        assertThat(scheduler.pending()).isZero();
+        StepVerifier.create(scheduler.applyDueTransitions(startTime.plusDays(1)))
+                .expectNext(0L)
+                .verifyComplete();
+        verify(eventRepository, never()).transitionStatuses(any(), any(), any());
+    }
+
+    @Test
+    void start_shouldScheduleUpcomingAndOverdueTransitions() {
+        LocalDateTime now = LocalDateTime.now();
+        SportEvent missed = event(2L, 1L, EventStatus.INACTIVE, now.minusDays(1));
+        when(eventRepository.findByStatusIn(any())).thenReturn(Flux.fromIterable(List.of(
+                event(1L, 1L, EventStatus.INACTIVE, now.plusDays(1)),
+                missed,
+                event(3L, 1L, EventStatus.ACTIVE, now.minusDays(1)))));
+        when(eventRepository.transitionStatuses(any(), any(), eq(null))).thenReturn(Flux.empty());
+
+        scheduler.start();
+
+        assertThat(scheduler.pending()).isEqualTo(3);
+        verify(eventRepository, never()).transitionStatuses(any(), any(), any());
+        StepVerifier.create(scheduler.applyDueTransitions(now)).expectNext(0L).verifyComplete();
+        verify(eventRepository).transitionStatuses(
+                argThat(request -> request.ids().equals(List.of(missed.getId()))), eq(EventStatus.ACTIVE.predecessors()), eq(null));
+        assertThat(scheduler.pending()).isEqualTo(1);
+    }
+
+    private static SportEvent event(Long id, Long sportTypeId, EventStatus status, LocalDateTime startTime) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(status);
+        event.setStartTime(startTime);
+        return event;
+    }
+}
@@ -0,0 +1,124 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.ReadModelProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import com.sportevents.api.repository.SportTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class EventReadModelTest {
+
+    @Mock
+    private SportEventRepository eventRepository;
+
+    @Mock
+    private SportTypeRepository typeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SportType football = new SportType();
+        football.setId(1L);
+        football.setName("Football");
+        SportTypeCache sportTypeCache = new SportTypeCache(typeRepository);
+        sportTypeCache.put(football);
+
+        meterRegistry = new SimpleMeterRegistry();
+        // A capacity of 2 makes the loading below grow every structure
+        readModel = new EventReadModel(new ReadModelProperties(true, 2), eventRepository, sportTypeCache, meterRegistry);
+        when(eventRepository.findAll()).thenReturn(Flux.just(
+                event(1L, 1L, EventStatus.ACTIVE, 3),
+                event(2L, 2L, EventStatus.INACTIVE, 1),
+                event(3L, 1L, EventStatus.INACTIVE, 2)));
+    }
+
+    @Test
+    void filter_afterLoad_shouldReturnMatchingEventsInStartTimeOrder() {
+        assertThat(readModel.isReady()).isFalse();
+        readModel.load();
+
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(readModel.filter(null, null)).extracting(SportEventDto::id).containsExactly(2L, 3L, 1L);
+        assertThat(readModel.filter(EventStatus.INACTIVE, null)).extracting(SportEventDto::id).containsExactly(2L, 3L);
+        assertThat(readModel.filter(EventStatus.INACTIVE, 1L)).extracting(SportEventDto::id).containsExactly(3L);
+        assertThat(readModel.filter(null, 9L)).isEmpty();
+
+        SportEventDto found = readModel.findById(3L);
+        assertThat(found.sportType().getName()).isEqualTo("Football");
+        assertThat(found.startTime()).isEqualTo(LocalDateTime.of(2030, 1, 2, 18, 0));
+        assertThat(readModel.findById(4L)).isNull();
+    }
+
+    @Test
+    void onChange_shouldKeepIndexesCurrentAndIgnoreOlderVersions() {
+        readModel.load();
+
+        SportEvent activated = event(3L, 1L, EventStatus.ACTIVE, 2);
+        activated.setVersion(1L);
+        readModel.onChange(SportEventChange.statusChanged(activated, EventStatus.INACTIVE));
+        readModel.onChange(SportEventChange.created(event(4L, 1L, EventStatus.INACTIVE, 0)));
+        readModel.onChange(SportEventChange.created(event(3L, 1L, EventStatus.INACTIVE, 2)));
+
+        assertThat(readModel.filter(EventStatus.ACTIVE, 1L)).extracting(SportEventDto::id).containsExactly(3L, 1L);
+        assertThat(readModel.filter(EventStatus.INACTIVE, null)).extracting(SportEventDto::id).containsExactly(4L, 2L);
+        assertThat(readModel.filter(null, null)).extracting(SportEventDto::id).containsExactly(4L, 2L, 3L, 1L);
+        assertThat(readModel.findById(3L).version()).isEqualTo(1L);
+    }
+
+    @Test
+    void onChange_withManyCreatesAndMovedStartTimes_shouldKeepStartTimeOrder() {
+        readModel.load();
+
+        Random random = new Random(7);
+        for (long id = 4; id < 3000; id++) {
+            readModel.onChange(SportEventChange.created(event(id, 1L, EventStatus.INACTIVE, random.nextInt(500))));
+        }
+        // One event that was merged into the sorted slots and one that is still among the recent ones
+        readModel.onChange(SportEventChange.created(event(10L, 1L, EventStatus.INACTIVE, 700)));
+        readModel.onChange(SportEventChange.created(event(2990L, 1L, EventStatus.INACTIVE, -1)));
+
+        List<SportEventDto> events = readModel.filter(null, null);
+        assertThat(events).hasSize(2999);
+        assertThat(events).isSortedAccordingTo(Comparator.comparing(SportEventDto::startTime).thenComparing(SportEventDto::id));
+        assertThat(events.get(0).id()).isEqualTo(2990L);
+        assertThat(events.get(events.size() - 1).id()).isEqualTo(10L);
+    }
+
+    @Test
+    void load_shouldExposeSizeAndMemoryGauges() {
+        readModel.load();
+
+        assertThat(meterRegistry.get(EventReadModel.EVENTS_METRIC).gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get(EventReadModel.MEMORY_METRIC).gauge().value()).isPositive();
+    }
+
+    private static SportEvent event(Long id, Long sportTypeId, EventStatus status, int day) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(status);
+        event.setStartTime(LocalDateTime.of(2029, 12, 31, 18, 0).plusDays(day));
+        event.setVersion(0L);
+        return event;
+    }
+}
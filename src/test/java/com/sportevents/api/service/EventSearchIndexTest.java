@@ -0,0 +1,105 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.SearchProperties;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    @Mock
+    private SportEventRepository eventRepository;
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new EventSearchIndex(eventRepository, new SearchProperties(true, Duration.ofMinutes(5)));
+        when(eventRepository.findAll()).thenReturn(Flux.just(
+                event(1L, "Champions League Final", 1L, EventStatus.INACTIVE, 0),
+                event(3L, "Stanley Cup final", 2L, EventStatus.INACTIVE, 0),
+                event(4L, "Finland vs. Sweden", 2L, EventStatus.ACTIVE, 0)));
+        assertThat(index.isReady()).isFalse();
+        index.rebuild().block();
+    }
+
+    @Test
+    void search_shouldMatchEveryQueryWordAsPrefixOfANameWord() {
+        assertThat(index.search("fin", null, null, 10)).containsExactly(1L, 3L, 4L);
+        assertThat(index.search("champ LEA", null, null, 10)).containsExactly(1L);
+        assertThat(index.search("final cup", null, null, 10)).containsExactly(3L);
+        assertThat(index.search("league cup", null, null, 10)).isEmpty();
+        assertThat(index.search("inal", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldApplyFiltersAndLimit() {
+        assertThat(index.search("fin", EventStatus.INACTIVE, 2L, 10)).containsExactly(3L);
+        assertThat(index.search("fin", null, null, 2)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void onChange_shouldIndexNewEventsInIdOrderAndIgnoreStaleStatusChanges() {
+        index.onChange(SportEventChange.created(event(2L, "Final four", 3L, EventStatus.INACTIVE, 0)));
+        index.onChange(SportEventChange.statusChanged(event(4L, "Finland vs. Sweden", 2L, EventStatus.FINISHED, 2), EventStatus.ACTIVE));
+        index.onChange(SportEventChange.statusChanged(event(4L, "Finland vs. Sweden", 2L, EventStatus.ACTIVE, 1), EventStatus.INACTIVE));
+
+        assertThat(index.search("final", null, null, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("finland", EventStatus.FINISHED, null, 10)).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void rebuild_shouldPickUpOtherWritesAndKeepChangesMadeWhileRebuilding() {
+        Sinks.Many<SportEvent> rebuild = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventRepository.findAll()).thenReturn(rebuild.asFlux());
+
+        index.rebuild().subscribe();
+        rebuild.tryEmitNext(event(1L, "Champions League Final", 1L, EventStatus.INACTIVE, 0));
+        rebuild.tryEmitNext(event(4L, "Finland vs. Sweden", 2L, EventStatus.ACTIVE, 1));
+        index.onChange(SportEventChange.statusChanged(event(1L, "Champions League Final", 1L, EventStatus.ACTIVE, 1), EventStatus.INACTIVE));
+        index.onChange(SportEventChange.created(event(6L, "Final four", 3L, EventStatus.INACTIVE, 0)));
+        rebuild.tryEmitNext(event(5L, "Davis Cup final", 2L, EventStatus.INACTIVE, 0));
+
+        // The current index answers until the rebuild completes
+        assertThat(index.search("final", null, null, 10)).containsExactly(1L, 3L, 6L);
+        rebuild.tryEmitComplete();
+
+        assertThat(index.search("final", null, null, 10)).containsExactly(1L, 5L, 6L);
+        assertThat(index.search("champ", EventStatus.ACTIVE, null, 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void onChange_whenDisabled_shouldNotIndexAnything() {
+        EventSearchIndex disabled = new EventSearchIndex(eventRepository, new SearchProperties(false, Duration.ofMinutes(5)));
+
+        disabled.start();
+        disabled.onChange(SportEventChange.created(event(2L, "Final four", 3L, EventStatus.INACTIVE, 0)));
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.size()).isZero();
+    }
+
+    private static SportEvent event(Long id, String name, Long sportTypeId, EventStatus status, long version) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName(name);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(status);
+        event.setVersion(version);
+        return event;
+    }
+}
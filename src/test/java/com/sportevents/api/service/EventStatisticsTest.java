@@ -0,0 +1,160 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.StatsProperties;
+import com.sportevents.api.dto.EventCount;
+import com.sportevents.api.dto.EventStats;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.repository.SportEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventStatisticsTest {
+
+    @Mock
+    private SportEventRepository eventRepository;
+
+    private EventStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        statistics = new EventStatistics(eventRepository, new StatsProperties(Duration.ofMinutes(5)));
+        when(eventRepository.countBySportTypeAndStatus()).thenReturn(Flux.just(
+                new EventCount(1L, EventStatus.INACTIVE, 3),
+                new EventCount(1L, EventStatus.ACTIVE, 1),
+                new EventCount(2L, EventStatus.FINISHED, 2)));
+        when(eventRepository.streamStatuses()).thenReturn(Flux.just(
+                event(1L, 1L, EventStatus.INACTIVE, 0L),
+                event(2L, 1L, EventStatus.INACTIVE, 0L),
+                event(3L, 1L, EventStatus.INACTIVE, 0L),
+                event(4L, 1L, EventStatus.ACTIVE, 0L),
+                event(5L, 2L, EventStatus.FINISHED, 0L),
+                event(6L, 2L, EventStatus.FINISHED, 0L)));
+    }
+
+    @Test
+    void stats_afterSeeding_shouldFollowChangesWithoutQuerying() {
+        statistics.seed().block();
+
+        statistics.onChange(SportEventChange.created(event(2L, EventStatus.INACTIVE)));
+        statistics.onChange(SportEventChange.statusChanged(event(1L, EventStatus.ACTIVE), EventStatus.INACTIVE));
+
+        StepVerifier.create(statistics.stats())
+                .assertNext(stats -> {
+                    assertThat(stats.total()).isEqualTo(7);
+                    assertThat(stats.byStatus()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                            EventStatus.INACTIVE, 3L, EventStatus.ACTIVE, 2L, EventStatus.FINISHED, 2L));
+                    assertThat(stats.bySportType()).extracting(EventStats.SportTypeStats::sportTypeId).containsExactly(1L, 2L);
+                    assertThat(stats.bySportType().get(0).byStatus()).containsEntry(EventStatus.INACTIVE, 2L)
+                            .containsEntry(EventStatus.ACTIVE, 2L);
+                    assertThat(stats.bySportType().get(1).total()).isEqualTo(3);
+                })
+                .verifyComplete();
+        verify(eventRepository, times(1)).streamStatuses();
+        verify(eventRepository, never()).countBySportTypeAndStatus();
+    }
+
+    @Test
+    void seed_shouldKeepChangesMadeWhileRecountingAndServeOldCountsUntilDone() {
+        statistics.seed().block();
+        Sinks.Many<SportEvent> recount = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventRepository.streamStatuses()).thenReturn(recount.asFlux());
+
+        statistics.seed().subscribe();
+        recount.tryEmitNext(event(1L, 1L, EventStatus.INACTIVE, 0L));
+        statistics.onChange(SportEventChange.created(event(1L, EventStatus.INACTIVE)));
+
+        assertThat(statistics.stats().block().total()).isEqualTo(7);
+        recount.tryEmitComplete();
+        assertThat(statistics.stats().block().total()).isEqualTo(2);
+    }
+
+    @Test
+    void seed_shouldApplyChangesMadeWhileRecountingOnlyIfTheScanReadAnOlderVersion() {
+        statistics.seed().block();
+        Sinks.Many<SportEvent> recount = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventRepository.streamStatuses()).thenReturn(recount.asFlux());
+
+        statistics.seed().subscribe();
+        statistics.onChange(SportEventChange.statusChanged(event(1L, 1L, EventStatus.ACTIVE, 1L), EventStatus.INACTIVE));
+        recount.tryEmitNext(event(2L, 1L, EventStatus.INACTIVE, 0L));
+        statistics.onChange(SportEventChange.statusChanged(event(2L, 1L, EventStatus.ACTIVE, 1L), EventStatus.INACTIVE));
+        // The scan reaches event 1 after its change and event 2 before it
+        recount.tryEmitNext(event(1L, 1L, EventStatus.ACTIVE, 1L));
+        recount.tryEmitNext(event(3L, 1L, EventStatus.INACTIVE, 0L));
+        recount.tryEmitNext(event(4L, 1L, EventStatus.ACTIVE, 0L));
+        recount.tryEmitComplete();
+
+        assertThat(statistics.stats().block().bySportType().get(0).byStatus())
+                .containsEntry(EventStatus.INACTIVE, 1L)
+                .containsEntry(EventStatus.ACTIVE, 3L);
+    }
+
+    @Test
+    void onChange_publishedAfterTheScanReadTheChangedRow_shouldNotCountTheChangeTwice() {
+        Sinks.Many<SportEvent> recount = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventRepository.streamStatuses()).thenReturn(recount.asFlux());
+
+        statistics.seed().subscribe();
+        // Event 1 was activated and event 2 created just before the scan read them
+        recount.tryEmitNext(event(1L, 1L, EventStatus.ACTIVE, 1L));
+        recount.tryEmitNext(event(2L, 1L, EventStatus.INACTIVE, 0L));
+        statistics.onChange(SportEventChange.statusChanged(event(1L, 1L, EventStatus.ACTIVE, 1L), EventStatus.INACTIVE));
+        recount.tryEmitComplete();
+        statistics.onChange(SportEventChange.created(event(2L, 1L, EventStatus.INACTIVE, 0L)));
+
+        assertThat(statistics.stats().block().byStatus()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                EventStatus.INACTIVE, 1L, EventStatus.ACTIVE, 1L, EventStatus.FINISHED, 0L));
+
+        statistics.onChange(SportEventChange.statusChanged(event(1L, 1L, EventStatus.FINISHED, 2L), EventStatus.ACTIVE));
+
+        assertThat(statistics.stats().block().byStatus()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                EventStatus.INACTIVE, 1L, EventStatus.ACTIVE, 0L, EventStatus.FINISHED, 1L));
+    }
+
+    @Test
+    void stats_shouldNeverReportNegativeCounts() {
+        statistics.seed().block();
+
+        statistics.onChange(SportEventChange.statusChanged(event(2L, EventStatus.ACTIVE), EventStatus.INACTIVE));
+
+        EventStats stats = statistics.stats().block();
+        assertThat(stats.bySportType().get(1).byStatus()).containsEntry(EventStatus.INACTIVE, 0L);
+        assertThat(stats.byStatus()).containsEntry(EventStatus.INACTIVE, 3L);
+    }
+
+    @Test
+    void stats_beforeSeeding_shouldCountInDatabase() {
+        StepVerifier.create(statistics.stats())
+                .assertNext(stats -> assertThat(stats.total()).isEqualTo(6))
+                .verifyComplete();
+    }
+
+    private static SportEvent event(Long sportTypeId, EventStatus status) {
+        return event(100L, sportTypeId, status, null);
+    }
+
+    private static SportEvent event(Long id, Long sportTypeId, EventStatus status, Long version) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(status);
+        event.setVersion(version);
+        return event;
+    }
+}
@@ -0,0 +1,119 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.EventCacheProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilteredEventsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FilteredEventsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new FilteredEventsCache(new EventCacheProperties(true, 100, Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    @Test
+    void get_whileListingIsLoading_shouldShareOneQuery() {
+        AtomicInteger queries = new AtomicInteger();
+        Sinks.One<SportEventDto> result = Sinks.one();
+        Flux<SportEventDto> query = Flux.defer(() -> {
+            queries.incrementAndGet();
+            return result.asMono().flux();
+        });
+
+        StepVerifier first = StepVerifier.create(cache.get(EventStatus.ACTIVE, 1L, () -> query))
+                .expectNextMatches(dto -> dto.id() == 1L)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(cache.get(EventStatus.ACTIVE, 1L, () -> query))
+                .expectNextMatches(dto -> dto.id() == 1L)
+                .expectComplete()
+                .verifyLater();
+        result.tryEmitValue(dto(1L));
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        assertThat(queries).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onChange_shouldOnlyInvalidateListingsContainingTheEvent() {
+        AtomicInteger queries = new AtomicInteger();
+        load(EventStatus.ACTIVE, 1L, queries);
+        load(EventStatus.INACTIVE, 1L, queries);
+        load(EventStatus.INACTIVE, 2L, queries);
+        load(null, null, queries);
+        assertThat(queries).hasValue(4);
+
+        SportEvent event = new SportEvent();
+        event.setId(1L);
+        event.setSportTypeId(1L);
+        event.setStatus(EventStatus.ACTIVE);
+        cache.onChange(SportEventChange.statusChanged(event, EventStatus.INACTIVE));
+
+        assertThat(cache.size()).isEqualTo(1);
+        load(EventStatus.INACTIVE, 2L, queries);
+        assertThat(queries).hasValue(4);
+    }
+
+    @Test
+    void get_withListingLargerThanCache_shouldStreamItWithoutHoldingIt() {
+        cache = new FilteredEventsCache(new EventCacheProperties(true, 2, Duration.ofMinutes(1)), meterRegistry);
+        AtomicInteger queries = new AtomicInteger();
+        AtomicInteger emitted = new AtomicInteger();
+        Supplier<Flux<SportEventDto>> query = () -> Flux.defer(() -> {
+            queries.incrementAndGet();
+            return Flux.range(1, 5).map(id -> dto((long) id)).doOnNext(dto -> emitted.incrementAndGet());
+        });
+
+        StepVerifier.create(cache.get(null, null, query)).expectNextCount(5).verifyComplete();
+        // The load stops after one event more than the cache holds, then the listing is streamed
+        assertThat(emitted).hasValue(3 + 5);
+
+        StepVerifier.create(cache.get(null, null, query)).expectNextCount(5).verifyComplete();
+        assertThat(queries).hasValue(3);
+        assertThat(emitted).hasValue(3 + 5 + 5);
+    }
+
+    @Test
+    void get_whenDisabled_shouldQueryEveryTime() {
+        cache = new FilteredEventsCache(new EventCacheProperties(false, 100, Duration.ofMinutes(1)), meterRegistry);
+        AtomicInteger queries = new AtomicInteger();
+
+        load(null, null, queries);
+        load(null, null, queries);
+
+        assertThat(queries).hasValue(2);
+    }
+
+    private void load(EventStatus status, Long sportTypeId, AtomicInteger queries) {
+        StepVerifier.create(cache.get(status, sportTypeId, () -> Flux.defer(() -> {
+                    queries.incrementAndGet();
+                    return Flux.fromIterable(List.of(dto(1L)));
+                })))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private static SportEventDto dto(Long id) {
+        return new SportEventDto(id, null, null, null, null, null);
+    }
+}
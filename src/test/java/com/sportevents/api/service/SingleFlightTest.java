@@ -0,0 +1,93 @@
+package com.sportevents.api.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Sinks.One<String> result = Sinks.one();
+
+    @Test
+    void mono_whenCallIsInFlight_shouldShareItsResult() {
+        StepVerifier first = StepVerifier.create(singleFlight.mono(1L, this::call))
+                .expectNext("event 1")
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(singleFlight.mono(1L, this::call))
+                .expectNext("event 1")
+                .expectComplete()
+                .verifyLater();
+        result.tryEmitValue("event 1");
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void mono_whenCallFails_shouldFailEveryWaiterAndNotRememberTheError() {
+        StepVerifier first = StepVerifier.create(singleFlight.mono(1L, this::call))
+                .expectErrorMessage("database unavailable")
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(singleFlight.mono(1L, this::call))
+                .expectErrorMessage("database unavailable")
+                .verifyLater();
+        result.tryEmitError(new IllegalStateException("database unavailable"));
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(singleFlight.mono(1L, () -> Mono.just("event 1")))
+                .expectNext("event 1")
+                .verifyComplete();
+    }
+
+    @Test
+    void mono_whenWaitersCancel_shouldOnlyCancelCallAfterTheLastOne() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Disposable first = singleFlight.mono(1L, () -> call().doOnCancel(() -> cancelled.set(true))).subscribe();
+        Disposable second = singleFlight.mono(1L, this::call).subscribe();
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        assertThat(singleFlight.inFlight()).isOne();
+
+        second.dispose();
+        assertThat(cancelled).isTrue();
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void mono_whenReleased_shouldStartNewCallForLaterSubscribers() {
+        StepVerifier early = StepVerifier.create(singleFlight.mono(1L, this::call))
+                .expectNext("stale event")
+                .expectComplete()
+                .verifyLater();
+
+        singleFlight.release(1L);
+        StepVerifier.create(singleFlight.mono(1L, () -> Mono.just("fresh event")))
+                .expectNext("fresh event")
+                .verifyComplete();
+
+        result.tryEmitValue("stale event");
+        early.verify(Duration.ofSeconds(1));
+    }
+
+    private Mono<String> call() {
+        calls.incrementAndGet();
+        return result.asMono();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sportevents.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sportevents.api.config.ChangeFeedProperties;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SportEventChangeFeedTest {
+
+    private SportEventChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new SportEventChangeFeed(new ChangeFeedProperties(2, Duration.ofHours(1)),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void changes_shouldOnlyStreamMatchingChanges() {
+        StepVerifier.create(feed.changes(EventStatus.ACTIVE, 1L))
+                .then(() -> {
+                    feed.onChange(SportEventChange.created(event(1L, 1L, EventStatus.INACTIVE)));
+                    feed.onChange(SportEventChange.statusChanged(event(2L, 2L, EventStatus.ACTIVE), EventStatus.INACTIVE));
+                    feed.onChange(SportEventChange.statusChanged(event(3L, 1L, EventStatus.ACTIVE), EventStatus.INACTIVE));
+                })
+                .assertNext(sse -> {
+                    assertThat(sse.id()).isEqualTo("3");
+                    assertThat(sse.event()).isEqualTo("status_changed");
+                    assertThat(sse.data()).contains("\"previousStatus\":\"INACTIVE\"");
+                })
+                .thenCancel()
+                .verify();
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    @Test
+    void changes_whenSubscriberFallsBehind_shouldSendResyncAndComplete() {
+        StepVerifier.create(feed.changes(null, null), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 4; id++) {
+                        feed.onChange(SportEventChange.created(event(id, 1L, EventStatus.INACTIVE)));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(sse -> !SportEventChangeFeed.RESYNC_EVENT.equals(sse.event()))
+                .expectNextMatches(sse -> SportEventChangeFeed.RESYNC_EVENT.equals(sse.event()))
+                .verifyComplete();
+    }
+
+    private static SportEvent event(Long id, Long sportTypeId, EventStatus status) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(status);
+        event.setStartTime(LocalDateTime.of(2030, 1, 1, 18, 0));
+        return event;
+    }
+}
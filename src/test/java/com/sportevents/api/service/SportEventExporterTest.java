@@ -0,0 +1,109 @@
+package com.sportevents.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportevents.api.config.ExportProperties;
+import com.sportevents.api.config.ReplicaProperties;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import com.sportevents.api.repository.SportTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class SportEventExporterTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private SportEventRepository repository;
+
+    @Mock
+    private SportTypeRepository typeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SportEventExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exporter = new SportEventExporter(repository, typeRepository,
+                new ReplicaReads(new ReplicaProperties(false, null, null, null, Duration.ZERO)),
+                objectMapper, new ExportProperties(100, 2));
+        when(typeRepository.findAll()).thenReturn(Flux.just(sportType(1L, "Football"), sportType(2L, "Hockey")));
+        when(repository.streamForExport(FROM, null, 100)).thenReturn(Flux.just(
+                event(1L, "Derby, \"the big one\"", 1L),
+                event(2L, "Cup final", 2L),
+                event(3L, "Friendly", 1L)));
+    }
+
+    @Test
+    void export_asCsv_shouldWriteHeaderAndQuotedRowsInChunks() {
+        StepVerifier.create(exporter.export(SportEventExporter.Format.CSV, FROM, null, DefaultDataBufferFactory.sharedInstance)
+                        .map(SportEventExporterTest::text)
+                        .collectList())
+                .assertNext(buffers -> {
+                    assertThat(buffers).hasSize(3);
+                    assertThat(String.join("", buffers)).isEqualTo("""
+                            id,name,sport_type_id,sport_type_name,status,start_time,version
+                            1,"Derby, ""the big one\"\"",1,Football,INACTIVE,2030-01-01T18:00:00,0
+                            2,Cup final,2,Hockey,INACTIVE,2030-01-01T18:00:00,0
+                            3,Friendly,1,Football,INACTIVE,2030-01-01T18:00:00,0
+                            """);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void export_asNdjson_shouldWriteOneEventPerLineShapedLikeTheListing() throws Exception {
+        String body = String.join("", exporter.export(SportEventExporter.Format.NDJSON, FROM, null, DefaultDataBufferFactory.sharedInstance)
+                .map(SportEventExporterTest::text)
+                .collectList()
+                .block());
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("name").asText()).isEqualTo("Derby, \"the big one\"");
+        assertThat(first.at("/sportType/name").asText()).isEqualTo("Football");
+        assertThat(first.get("startTime").asText()).isEqualTo("2030-01-01T18:00:00");
+        assertThat(objectMapper.readTree(lines[2]).get("id").asLong()).isEqualTo(3L);
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static SportEvent event(Long id, String name, Long sportTypeId) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName(name);
+        event.setSportTypeId(sportTypeId);
+        event.setStatus(EventStatus.INACTIVE);
+        event.setStartTime(LocalDateTime.of(2030, 1, 1, 18, 0));
+        event.setVersion(0L);
+        return event;
+    }
+
+    private static SportType sportType(Long id, String name) {
+        SportType sportType = new SportType();
+        sportType.setId(id);
+        sportType.setName(name);
+        return sportType;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.IngestionProperties;
+import com.sportevents.api.dto.EventBatchItemResult;
+import com.sportevents.api.model.EventStatus;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportEventRepository;
+import com.sportevents.api.repository.SportTypeRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SportEventIngestionServiceTest {
+
+    @Mock
+    private SportEventRepository eventRepository;
+
+    @Mock
+    private SportTypeRepository typeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ValidatorFactory validatorFactory;
+
+    private SportEventIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new SportEventIngestionService(eventRepository, new SportTypeCache(typeRepository),
+                validatorFactory.getValidator(), new IngestionProperties(2), eventPublisher);
+
+        SportType football = new SportType();
+        football.setId(1L);
+        football.setName("Football");
+        when(typeRepository.findAllById(ArgumentMatchers.<Iterable<Long>>any())).thenReturn(Flux.just(football));
+        when(eventRepository.insertAll(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            List<SportEvent> events = invocation.getArgument(0);
+            return Flux.fromIterable(events).doOnNext(event -> event.setId(100L + events.indexOf(event)));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void createEvents_shouldReportResultPerEventInRequestOrder() {
+        SportEvent valid = event("Valid", 1L, LocalDateTime.now().plusDays(1));
+        SportEvent pastStart = event("Past", 1L, LocalDateTime.now().minusDays(1));
+        SportEvent unknownType = event("Unknown type", 99L, LocalDateTime.now().plusDays(1));
+        SportEvent missingName = event(null, 1L, LocalDateTime.now().plusDays(1));
+
+        StepVerifier.create(service.createEvents(Flux.just(valid, pastStart, unknownType, missingName)))
+                .expectNext(EventBatchItemResult.created(0, 100L))
+                .expectNext(EventBatchItemResult.rejected(1, "Start time cannot be in the past"))
+                .expectNext(EventBatchItemResult.rejected(2, "Invalid sport type ID: 99"))
+                .expectNext(EventBatchItemResult.rejected(3, "Name must not be null"))
+                .verifyComplete();
+
+        assertThat(valid.getStatus()).isEqualTo(EventStatus.INACTIVE);
+        // one lookup per chunk of two events, never one per event
+        verify(typeRepository, times(2)).findAllById(ArgumentMatchers.<Iterable<Long>>any());
+    }
+
+    @Test
+    void createEvents_whenInsertFails_shouldRejectOnlyThatBatch() {
+        doReturn(Flux.error(new IllegalStateException("Connection lost")))
+                .doAnswer(invocation -> Flux.fromIterable(invocation.<List<SportEvent>>getArgument(0))
+                        .doOnNext(event -> event.setId(7L)))
+                .when(eventRepository).insertAll(ArgumentMatchers.any());
+
+        Flux<SportEvent> events = Flux.just(
+                event("Event 1", 1L, LocalDateTime.now().plusDays(1)),
+                event("Event 2", 1L, LocalDateTime.now().plusDays(1)),
+                event("Event 3", 1L, LocalDateTime.now().plusDays(1)));
+
+        StepVerifier.create(service.createEvents(events))
+                .expectNext(EventBatchItemResult.rejected(0, "Insert failed: Connection lost"))
+                .expectNext(EventBatchItemResult.rejected(1, "Insert failed: Connection lost"))
+                .expectNext(EventBatchItemResult.created(2, 7L))
+                .verifyComplete();
+    }
+
+    private static SportEvent event(String name, Long sportTypeId, LocalDateTime startTime) {
+        SportEvent event = new SportEvent();
+        event.setName(name);
+        event.setSportTypeId(sportTypeId);
+        event.setStartTime(startTime);
+        return event;
+    }
+}
@@ -1,28 +1,48 @@
 package com.sportevents.api.service;
 
+import com.sportevents.api.config.EventCacheProperties;
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.config.PagingProperties;
+import com.sportevents.api.config.ReplicaProperties;
+import com.sportevents.api.dto.BulkStatusUpdateRequest;
+import com.sportevents.api.dto.BulkStatusUpdateResult;
+import com.sportevents.api.dto.EventCursor;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.exception.ConflictException;
+import com.sportevents.api.exception.ResourceNotFoundException;
 import com.sportevents.api.model.EventStatus;
 import com.sportevents.api.model.SportEvent;
 import com.sportevents.api.model.SportType;
 import com.sportevents.api.repository.SportEventRepository;
 import com.sportevents.api.repository.SportTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class SportEventServiceTest {
 
-    @InjectMocks
     private SportEventService service;
 
     @Mock
@@ -31,9 +51,35 @@ class SportEventServiceTest {
     @Mock
     private SportTypeRepository typeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventReadModel readModel;
+
+    @Mock
+    private EventSearchIndex searchIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(ListingProperties.SportTypeResolution.JOIN);
+    }
+
+    private SportEventService service(ListingProperties.SportTypeResolution sportTypes) {
+        return service(sportTypes, new FilteredEventsCache(new EventCacheProperties(false, 100, Duration.ofMinutes(1)), meterRegistry));
+    }
+
+    private SportEventService service(ListingProperties.SportTypeResolution sportTypes, FilteredEventsCache filteredEventsCache) {
+        ListingProperties listingProperties = new ListingProperties(sportTypes, 2, Duration.ofMillis(10), false);
+        return new SportEventService(eventRepository, new SportTypeCache(typeRepository), filteredEventsCache,
+                readModel, new SportTypeBatchLoader(typeRepository, listingProperties),
+                new ReplicaReads(new ReplicaProperties(false, null, null, null, Duration.ZERO)), searchIndex,
+                new PagingProperties(2, 3),
+                listingProperties, eventPublisher, meterRegistry);
     }
 
     @Test
@@ -62,73 +108,298 @@ class SportEventServiceTest {
         event.setStatus(EventStatus.INACTIVE);
         event.setStartTime(LocalDateTime.now().plusDays(1));
 
-        when(eventRepository.findById(1L)).thenReturn(Mono.just(event));
-        when(eventRepository.save(event)).thenReturn(Mono.just(event));
+        SportEvent updated = new SportEvent();
+        updated.setId(1L);
+        updated.setStatus(EventStatus.ACTIVE);
+
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.ACTIVE), eq(Set.of(EventStatus.INACTIVE)), any()))
+                .thenReturn(Mono.just(updated));
 
         StepVerifier.create(service.updateEventStatus(1L, EventStatus.ACTIVE))
                 .assertNext(updatedEvent -> assertThat(updatedEvent.getStatus()).isEqualTo(EventStatus.ACTIVE))
                 .verifyComplete();
+        verify(eventRepository, never()).findById(1L);
+        verify(eventPublisher).publishEvent(SportEventChange.statusChanged(updated, EventStatus.INACTIVE));
     }
 
     @Test
-    void getEventById_withValidId_shouldReturnEvent() {
+    void updateEventStatus_withStaleExpectedStatus_shouldThrowConflict() {
         SportEvent event = new SportEvent();
-        event.setId(1L);
-        event.setName("Event 1");
-        event.setSportTypeId(1L);
+        event.setStatus(EventStatus.INACTIVE);
 
-        SportType sportType = new SportType();
-        sportType.setId(1L);
-        sportType.setName("Basketball");
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.FINISHED), eq(Set.of(EventStatus.ACTIVE)), any()))
+                .thenReturn(Mono.empty());
+        when(eventRepository.findById(1L)).thenReturn(Mono.just(event));
 
+        StepVerifier.create(service.updateEventStatus(1L, EventStatus.FINISHED, EventStatus.ACTIVE))
+                .expectErrorMatches(ex -> ex instanceof ConflictException &&
+                        ex.getMessage().equals("Event with ID 1 is INACTIVE, expected ACTIVE"))
+                .verify();
+    }
+
+    @Test
+    void updateEventStatus_whenStatusChangedAfterUpdate_shouldThrowConflict() {
+        SportEvent event = new SportEvent();
+        event.setStatus(EventStatus.ACTIVE);
+
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.FINISHED), any(), any())).thenReturn(Mono.empty());
         when(eventRepository.findById(1L)).thenReturn(Mono.just(event));
-        when(typeRepository.findById(1L)).thenReturn(Mono.just(sportType));
+
+        StepVerifier.create(service.updateEventStatus(1L, EventStatus.FINISHED))
+                .expectError(ConflictException.class)
+                .verify();
+        assertThat(meterRegistry.counter(SportEventService.REJECTED_TRANSITIONS_METRIC,
+                "reason", "concurrent_modification").count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateEventStatus_withUnknownId_shouldThrowNotFound() {
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.ACTIVE), any(), any())).thenReturn(Mono.empty());
+        when(eventRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.updateEventStatus(1L, EventStatus.ACTIVE))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getEventById_withValidId_shouldReturnEvent() {
+        when(eventRepository.findByIdWithSportType(1L)).thenReturn(Mono.just(eventDto(1L, "Event 1", EventStatus.INACTIVE)));
 
         StepVerifier.create(service.getEventById(1L))
                 .assertNext(dto -> {
-                    assertThat(dto.getId()).isEqualTo(1L);
-                    assertThat(dto.getName()).isEqualTo("Event 1");
-                    assertThat(dto.getSportType().getName()).isEqualTo("Basketball");
+                    assertThat(dto.id()).isEqualTo(1L);
+                    assertThat(dto.name()).isEqualTo("Event 1");
+                    assertThat(dto.sportType().getName()).isEqualTo("Basketball");
                 })
                 .verifyComplete();
     }
 
     @Test
-    void whenFilterEvents_withStatusAndSportType_shouldReturnFilteredEvents() {
-        SportEvent event = new SportEvent();
-        event.setName("Event 1");
-        event.setSportTypeId(1L);
-        event.setStatus(EventStatus.INACTIVE);
+    void getEventById_whenLookupIsInFlight_shouldShareOneQuery() {
+        Sinks.One<SportEventDto> row = Sinks.one();
+        when(eventRepository.findByIdWithSportType(1L)).thenReturn(row.asMono());
 
-        SportType sportType = new SportType();
-        sportType.setId(1L);
-        sportType.setName("Basketball");
+        StepVerifier first = StepVerifier.create(service.getEventById(1L)).expectNextCount(1).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(service.getEventById(1L)).expectNextCount(1).expectComplete().verifyLater();
+        row.tryEmitValue(eventDto(1L, "Event 1", EventStatus.INACTIVE));
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        verify(eventRepository, times(1)).findByIdWithSportType(1L);
+    }
 
-        when(eventRepository.findByStatusAndSportTypeId(EventStatus.INACTIVE, 1L)).thenReturn(Flux.just(event));
-        when(typeRepository.findById(1L)).thenReturn(Mono.just(sportType));
+    @Test
+    void getEventById_withUnknownId_shouldReturnNotFound() {
+        when(eventRepository.findByIdWithSportType(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getEventById(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void whenFilterEvents_withStatusAndSportType_shouldReturnFilteredEvents() {
+        when(eventRepository.findByStatusAndSportTypeIdWithSportType(EventStatus.INACTIVE, 1L))
+                .thenReturn(Flux.just(eventDto(1L, "Event 1", EventStatus.INACTIVE)));
 
         StepVerifier.create(service.filterEvents(EventStatus.INACTIVE, 1L))
                 .assertNext(dto -> {
-                    assertThat(dto.getName()).isEqualTo("Event 1");
-                    assertThat(dto.getSportType().getName()).isEqualTo("Basketball");
+                    assertThat(dto.name()).isEqualTo("Event 1");
+                    assertThat(dto.sportType().getName()).isEqualTo("Basketball");
                 })
                 .verifyComplete();
     }
 
     @Test
-    void filterEvents_withNoFilters_shouldReturnAllEvents() {
+    void filterEvents_afterCacheInvalidation_shouldNotJoinQueryStartedBeforeWrite() {
+        FilteredEventsCache cache = new FilteredEventsCache(new EventCacheProperties(true, 100, Duration.ofMinutes(1)), meterRegistry);
+        service = service(ListingProperties.SportTypeResolution.JOIN, cache);
+        Sinks.Many<SportEventDto> beforeWrite = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventRepository.findAllWithSportType())
+                .thenReturn(beforeWrite.asFlux())
+                .thenReturn(Flux.just(eventDto(1L, "Event 1", EventStatus.INACTIVE), eventDto(2L, "Event 2", EventStatus.INACTIVE)));
+
+        StepVerifier first = StepVerifier.create(service.filterEvents(null, null)).expectNextCount(1).expectComplete().verifyLater();
+        // The cache is invalidated before the service hears of the write
+        SportEvent created = new SportEvent();
+        created.setId(2L);
+        created.setSportTypeId(1L);
+        created.setStatus(EventStatus.INACTIVE);
+        cache.onChange(SportEventChange.created(created));
+
+        StepVerifier second = StepVerifier.create(service.filterEvents(null, null)).expectNextCount(2).expectComplete().verifyLater();
+        beforeWrite.tryEmitNext(eventDto(1L, "Event 1", EventStatus.INACTIVE));
+        beforeWrite.tryEmitComplete();
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        verify(eventRepository, times(2)).findAllWithSportType();
+        StepVerifier.create(service.filterEvents(null, null)).expectNextCount(2).verifyComplete();
+    }
+
+    @Test
+    void filterEvents_withoutCache_shouldStreamEachListingWithItsOwnQuery() {
+        Sinks.Many<SportEventDto> rows = Sinks.many().multicast().onBackpressureBuffer();
+        when(eventRepository.findAllWithSportType()).thenReturn(rows.asFlux());
+
+        StepVerifier first = StepVerifier.create(service.filterEvents(null, null)).expectNextCount(1).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(service.filterEvents(null, null)).expectNextCount(1).expectComplete().verifyLater();
+        rows.tryEmitNext(eventDto(1L, "Event 1", EventStatus.INACTIVE));
+        rows.tryEmitComplete();
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        verify(eventRepository, times(2)).findAllWithSportType();
+    }
+
+    @Test
+    void filterEvents_whenReadModelIsReady_shouldNotQueryRepository() {
+        when(readModel.isReady()).thenReturn(true);
+        when(readModel.filter(EventStatus.ACTIVE, 1L)).thenReturn(List.of(eventDto(1L, "Event 1", EventStatus.ACTIVE)));
+
+        StepVerifier.create(service.filterEvents(EventStatus.ACTIVE, 1L))
+                .assertNext(dto -> assertThat(dto.name()).isEqualTo("Event 1"))
+                .verifyComplete();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void filterEvents_withBatchedSportTypes_shouldNotUseJoinedQuery() {
+        service = service(ListingProperties.SportTypeResolution.BATCH);
         SportEvent event = new SportEvent();
+        event.setId(1L);
         event.setName("Event 1");
         event.setSportTypeId(1L);
+        event.setStatus(EventStatus.ACTIVE);
+        SportType basketball = new SportType();
+        basketball.setId(1L);
+        basketball.setName("Basketball");
+        when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(Flux.just(event));
+        when(typeRepository.findAllById(List.of(1L))).thenReturn(Flux.just(basketball));
 
-        when(eventRepository.findAll()).thenReturn(Flux.just(event));
-        when(typeRepository.findById(1L)).thenReturn(Mono.just(new SportType()));
+        StepVerifier.create(service.filterEvents(EventStatus.ACTIVE, null))
+                .assertNext(dto -> assertThat(dto.sportType().getName()).isEqualTo("Basketball"))
+                .verifyComplete();
+        verify(eventRepository, never()).findByStatusWithSportType(any());
+    }
+
+    @Test
+    void filterEvents_withNoFilters_shouldReturnAllEvents() {
+        when(eventRepository.findAllWithSportType()).thenReturn(Flux.just(eventDto(1L, "Event 1", null)));
 
         StepVerifier.create(service.filterEvents(null, null))
-                .assertNext(dto -> assertThat(dto.getName()).isEqualTo("Event 1"))
+                .assertNext(dto -> assertThat(dto.name()).isEqualTo("Event 1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void filterEvents_withOnlySportType_shouldReturnFilteredBySportType() {
+        when(eventRepository.findBySportTypeIdWithSportType(1L))
+                .thenReturn(Flux.just(eventDto(1L, "Event 1", EventStatus.INACTIVE)));
+
+        StepVerifier.create(service.filterEvents(null, 1L))
+                .assertNext(dto -> assertThat(dto.sportType().getId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateEventStatuses_shouldReportUpdatedAndRejectedEvents() {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(List.of(1L, 2L, 3L), null, null, null,
+                EventStatus.FINISHED);
+
+        SportEvent finished = new SportEvent();
+        finished.setId(1L);
+        finished.setStatus(EventStatus.FINISHED);
+
+        SportEvent inactive = new SportEvent();
+        inactive.setId(2L);
+        inactive.setStatus(EventStatus.INACTIVE);
+
+        when(eventRepository.transitionStatuses(request, Set.of(EventStatus.ACTIVE), null)).thenReturn(Flux.just(finished));
+        when(eventRepository.findMatching(request)).thenReturn(Flux.just(finished, inactive));
+
+        StepVerifier.create(service.updateEventStatuses(request))
+                .assertNext(result -> {
+                    assertThat(result.updated()).containsExactly(1L);
+                    assertThat(result.rejected()).containsExactly(
+                            new BulkStatusUpdateResult.Rejection(2L, "Cannot transition from INACTIVE to FINISHED"),
+                            new BulkStatusUpdateResult.Rejection(3L, "Event with ID 3 not found"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findEventsPage_withMoreRowsThanLimit_shouldReturnNextCursor() {
+        SportEventDto first = eventDto(1L, "Event 1", EventStatus.ACTIVE, LocalDateTime.of(2030, 1, 1, 18, 0));
+        SportEventDto second = eventDto(2L, "Event 2", EventStatus.ACTIVE, LocalDateTime.of(2030, 1, 2, 18, 0));
+        SportEventDto third = eventDto(3L, "Event 3", EventStatus.ACTIVE);
+
+        when(eventRepository.findPageWithSportType(EventStatus.ACTIVE, null, null, 3))
+                .thenReturn(Flux.just(first, second, third));
+
+        StepVerifier.create(service.findEventsPage(EventStatus.ACTIVE, null, 2, null))
+                .assertNext(page -> {
+                    assertThat(page.events()).containsExactly(first, second);
+                    assertThat(EventCursor.decode(page.nextCursor())).isEqualTo(new EventCursor(second.startTime(), 2L));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findEventsPage_withLimitAboveMax_shouldClampLimit() {
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2030, 1, 1, 18, 0), 7L);
+        when(eventRepository.findPageWithSportType(null, 1L, cursor, 4)).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.findEventsPage(null, 1L, 100, cursor.encode()))
+                .assertNext(page -> {
+                    assertThat(page.events()).isEmpty();
+                    assertThat(page.nextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findEventsPage_withInvalidCursor_shouldThrowException() {
+        StepVerifier.create(service.findEventsPage(null, null, null, "not-a-cursor"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void searchEvents_shouldLoadMatchesInIndexOrder() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("final", EventStatus.INACTIVE, null, 3)).thenReturn(List.of(2L, 5L));
+        when(eventRepository.findAllByIdWithSportType(List.of(2L, 5L))).thenReturn(Flux.just(
+                eventDto(5L, "Cup final", EventStatus.INACTIVE),
+                eventDto(2L, "League final", EventStatus.INACTIVE)));
+
+        StepVerifier.create(service.searchEvents("final", EventStatus.INACTIVE, null, 10))
+                .assertNext(event -> assertThat(event.id()).isEqualTo(2L))
+                .assertNext(event -> assertThat(event.id()).isEqualTo(5L))
                 .verifyComplete();
     }
 
+    @Test
+    void searchEvents_beforeIndexIsBuilt_shouldSearchDatabase() {
+        when(eventRepository.searchIdsByName(List.of("champ", "fin"), null, 1L, 2)).thenReturn(Flux.just(7L));
+        when(eventRepository.findAllByIdWithSportType(List.of(7L))).thenReturn(Flux.just(
+                eventDto(7L, "Champions League Final", EventStatus.INACTIVE)));
+
+        StepVerifier.create(service.searchEvents("Champ fin", null, 1L, null))
+                .assertNext(event -> assertThat(event.id()).isEqualTo(7L))
+                .verifyComplete();
+        verify(searchIndex, never()).search(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchEvents_withoutWords_shouldThrowException() {
+        StepVerifier.create(service.searchEvents(" - ", null, null, null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(searchIndex);
+    }
+
     @Test
     void validateStartTime_withPastDate_shouldThrowException() {
         SportEvent event = new SportEvent();
@@ -148,23 +419,13 @@ class SportEventServiceTest {
 
     @Test
     void filterEvents_withOnlyStatus_shouldReturnFilteredByStatus() {
-        SportEvent event = new SportEvent();
-        event.setId(1L);
-        event.setName("Event 1");
-        event.setSportTypeId(1L);
-        event.setStatus(EventStatus.ACTIVE);
-
-        SportType sportType = new SportType();
-        sportType.setId(1L);
-        sportType.setName("Basketball");
-
-        when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(Flux.just(event));
-        when(typeRepository.findById(1L)).thenReturn(Mono.just(sportType));
+        when(eventRepository.findByStatusWithSportType(EventStatus.ACTIVE))
+                .thenReturn(Flux.just(eventDto(1L, "Event 1", EventStatus.ACTIVE)));
 
         StepVerifier.create(service.filterEvents(EventStatus.ACTIVE, null))
                 .assertNext(dto -> {
-                    assertThat(dto.getName()).isEqualTo("Event 1");
-                    assertThat(dto.getSportType().getName()).isEqualTo("Basketball");
+                    assertThat(dto.name()).isEqualTo("Event 1");
+                    assertThat(dto.sportType().getName()).isEqualTo("Basketball");
                 })
                 .verifyComplete();
     }
@@ -174,12 +435,15 @@ class SportEventServiceTest {
         SportEvent event = new SportEvent();
         event.setStatus(EventStatus.FINISHED);
 
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.ACTIVE), any(), any())).thenReturn(Mono.empty());
         when(eventRepository.findById(1L)).thenReturn(Mono.just(event));
 
         StepVerifier.create(service.updateEventStatus(1L, EventStatus.ACTIVE))
                 .expectErrorMatches(ex -> ex instanceof IllegalStateException &&
                         ex.getMessage().equals("Cannot update status: Event is already FINISHED"))
                 .verify();
+        assertThat(meterRegistry.counter(SportEventService.REJECTED_TRANSITIONS_METRIC, "reason", "event_finished").count())
+                .isEqualTo(1);
     }
 
     @Test
@@ -187,6 +451,7 @@ class SportEventServiceTest {
         SportEvent event = new SportEvent();
         event.setStatus(EventStatus.ACTIVE);
 
+        when(eventRepository.transitionStatus(eq(1L), eq(EventStatus.ACTIVE), any(), any())).thenReturn(Mono.empty());
         when(eventRepository.findById(1L)).thenReturn(Mono.just(event));
 
         StepVerifier.create(service.updateEventStatus(1L, EventStatus.ACTIVE))
@@ -194,4 +459,15 @@ class SportEventServiceTest {
                         ex.getMessage().equals("Cannot update event status: Already ACTIVE"))
                 .verify();
     }
+
+    private static SportEventDto eventDto(Long id, String name, EventStatus status) {
+        return eventDto(id, name, status, null);
+    }
+
+    private static SportEventDto eventDto(Long id, String name, EventStatus status, LocalDateTime startTime) {
+        SportType sportType = new SportType();
+        sportType.setId(1L);
+        sportType.setName("Basketball");
+        return new SportEventDto(id, name, sportType, status, startTime, null);
+    }
 }
@@ -0,0 +1,71 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.config.ListingProperties;
+import com.sportevents.api.dto.SportEventDto;
+import com.sportevents.api.model.SportEvent;
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class SportTypeBatchLoaderTest {
+
+    @Mock
+    private SportTypeRepository typeRepository;
+
+    private SportTypeBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        loader = new SportTypeBatchLoader(typeRepository,
+                new ListingProperties(ListingProperties.SportTypeResolution.BATCH, 3, Duration.ofSeconds(1), false));
+    }
+
+    @Test
+    void toDtos_shouldResolveDistinctSportTypesOncePerBatchAndKeepOrder() {
+        when(typeRepository.findAllById(List.of(1L, 2L))).thenReturn(Flux.just(sportType(1L, "Football"), sportType(2L, "Hockey")));
+        when(typeRepository.findAllById(List.of(3L, 1L))).thenReturn(Flux.just(sportType(1L, "Football")));
+
+        StepVerifier.create(loader.toDtos(Flux.just(event(1L, 1L), event(2L, 2L), event(3L, 1L), event(4L, 3L), event(5L, 1L))).collectList())
+                .assertNext(dtos -> {
+                    assertThat(dtos).extracting(SportEventDto::id).containsExactly(1L, 2L, 3L, 5L);
+                    assertThat(dtos).extracting(dto -> dto.sportType().getName())
+                            .containsExactly("Football", "Hockey", "Football", "Football");
+                    assertThat(dtos.get(0).sportType().getVersion()).isNull();
+                })
+                .verifyComplete();
+
+        verify(typeRepository).findAllById(List.of(1L, 2L));
+        verify(typeRepository).findAllById(List.of(3L, 1L));
+        verifyNoMoreInteractions(typeRepository);
+    }
+
+    private static SportEvent event(Long id, Long sportTypeId) {
+        SportEvent event = new SportEvent();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setSportTypeId(sportTypeId);
+        return event;
+    }
+
+    private static SportType sportType(Long id, String name) {
+        SportType sportType = new SportType();
+        sportType.setId(id);
+        sportType.setName(name);
+        sportType.setVersion(0L);
+        return sportType;
+    }
+}
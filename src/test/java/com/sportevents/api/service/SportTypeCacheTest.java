@@ -0,0 +1,67 @@
+package com.sportevents.api.service;
+
+import com.sportevents.api.model.SportType;
+import com.sportevents.api.repository.SportTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SportTypeCacheTest {
+
+    @Mock
+    private SportTypeRepository typeRepository;
+
+    private SportTypeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new SportTypeCache(typeRepository);
+    }
+
+    @Test
+    void get_afterRefresh_shouldNotQueryRepository() {
+        when(typeRepository.findAll()).thenReturn(Flux.just(sportType(1L, "Football")));
+
+        StepVerifier.create(cache.refresh()).verifyComplete();
+
+        StepVerifier.create(cache.get(1L))
+                .assertNext(type -> assertThat(type.getName()).isEqualTo("Football"))
+                .verifyComplete();
+        verify(typeRepository, never()).findById(1L);
+    }
+
+    @Test
+    void get_whenMissing_shouldLoadOnceAndCache() {
+        when(typeRepository.findById(2L)).thenReturn(Mono.just(sportType(2L, "Hockey")));
+
+        StepVerifier.create(cache.get(2L)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.get(2L)).expectNextCount(1).verifyComplete();
+
+        verify(typeRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void get_whenUnknown_shouldReturnEmpty() {
+        when(typeRepository.findById(99L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(cache.get(99L)).verifyComplete();
+    }
+
+    private static SportType sportType(Long id, String name) {
+        SportType sportType = new SportType();
+        sportType.setId(id);
+        sportType.setName(name);
+        return sportType;
+    }
+}